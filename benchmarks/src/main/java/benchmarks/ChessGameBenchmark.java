@@ -0,0 +1,104 @@
+package benchmarks;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessPiece;
+import chess.ChessPosition;
+import chess.GameStatus;
+import chess.moves.Move;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChessGameBenchmark {
+
+    @Param({"opening", "middlegame", "endgame", "promotion", "check"})
+    public String position;
+
+    @Param({"bitboard", "array"})
+    public String board;
+
+    private ChessGame game;
+    private ChessPosition[] pieces;
+    private int reply;
+
+    /**
+     * Makes and takes back a move before each call, which leaves the position
+     * as it was but clears the game's cached status, so the status benchmarks
+     * measure the evaluation rather than a cache hit
+     */
+    @State(Scope.Thread)
+    public static class Uncached {
+        @Setup(Level.Invocation)
+        public void clearStatus(ChessGameBenchmark bench) {
+            bench.game.makeMove(bench.reply);
+            bench.game.unmakeMove();
+        }
+    }
+
+    @Setup
+    public void setup() {
+        game = Positions.load(position, board);
+        List<ChessPosition> own = new ArrayList<>();
+        for (int sq = 0; sq < 64; sq++) {
+            ChessPiece piece = game.getBoard().getPiece(sq);
+            if (piece != null && piece.getTeamColor() == game.getTeamTurn()) {
+                own.add(ChessPosition.of(sq));
+            }
+        }
+        pieces = own.toArray(new ChessPosition[0]);
+        for (ChessPosition pos : pieces) {
+            var moves = game.legalMoves(pos);
+            if (!moves.isEmpty()) {
+                reply = Move.of(moves.iterator().next());
+                break;
+            }
+        }
+    }
+
+    @Benchmark
+    public void validMoves(Blackhole bh) {
+        for (ChessPosition pos : pieces) {
+            bh.consume(game.validMoves(pos));
+        }
+    }
+
+    @Benchmark
+    public void legalMoves(Blackhole bh) {
+        for (ChessPosition pos : pieces) {
+            bh.consume(game.legalMoves(pos));
+        }
+    }
+
+    @Benchmark
+    public void pieceMoves(Blackhole bh) {
+        ChessBoard b = game.getBoard();
+        for (ChessPosition pos : pieces) {
+            bh.consume(b.getPiece(pos).pieceMoves(b, pos));
+        }
+    }
+
+    @Benchmark
+    public boolean isInCheck() {
+        return game.isInCheck(game.getTeamTurn());
+    }
+
+    @Benchmark
+    public boolean isInCheckmate(Uncached uncached) {
+        return game.isInCheckmate(game.getTeamTurn());
+    }
+
+    @Benchmark
+    public GameStatus getStatus(Uncached uncached) {
+        return game.getStatus();
+    }
+}
@@ -0,0 +1,56 @@
+package benchmarks;
+
+import chess.ChessGame;
+import chess.GameCodec;
+import com.google.gson.Gson;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Storing and loading a game the way the server does on every move: as Gson
+ * JSON and with the binary {@link GameCodec}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+
+    @Param({"opening", "middlegame"})
+    public String position;
+
+    private final Gson gson = new Gson();
+    private ChessGame game;
+    private String json;
+    private byte[] bytes;
+
+    @Setup
+    public void setup() {
+        game = Positions.load(position, "bitboard");
+        json = gson.toJson(game);
+        bytes = GameCodec.encode(game);
+    }
+
+    @Benchmark
+    public String jsonEncode() {
+        return gson.toJson(game);
+    }
+
+    @Benchmark
+    public ChessGame jsonDecode() {
+        return gson.fromJson(json, ChessGame.class);
+    }
+
+    @Benchmark
+    public byte[] binaryEncode() {
+        return GameCodec.encode(game);
+    }
+
+    @Benchmark
+    public ChessGame binaryDecode() {
+        return GameCodec.decode(bytes);
+    }
+}
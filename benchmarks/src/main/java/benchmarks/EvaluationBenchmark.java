@@ -0,0 +1,59 @@
+package benchmarks;
+
+import chess.ChessGame;
+import chess.moves.MoveGenerator;
+import chess.search.AccumulatorEvaluator;
+import chess.search.PieceSquareEvaluator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of scoring one leaf: a move, its evaluation and the take-back, with
+ * the piece-square scan and with the incrementally updated accumulators.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluationBenchmark {
+
+    @Param({"opening", "middlegame", "endgame"})
+    public String position;
+
+    private ChessGame game;
+    private final int[] moves = new int[MoveGenerator.MAX_MOVES];
+    private int count;
+    private int next;
+    private final PieceSquareEvaluator pieceSquare = new PieceSquareEvaluator();
+    private final AccumulatorEvaluator accumulator = new AccumulatorEvaluator();
+
+    @Setup
+    public void setup() {
+        game = Positions.load(position, "bitboard");
+        count = game.generateLegalMoves(game.getTeamTurn(), -1L, moves, 0);
+        accumulator.evaluate(game);
+    }
+
+    @Benchmark
+    public int pieceSquare() {
+        int move = moves[next++ % count];
+        game.makeMove(move);
+        int score = pieceSquare.evaluate(game);
+        game.unmakeMove();
+        return score;
+    }
+
+    @Benchmark
+    public int accumulator() {
+        int move = moves[next++ % count];
+        accumulator.makeMove(game, move);
+        game.makeMove(move);
+        int score = accumulator.evaluate(game);
+        game.unmakeMove();
+        accumulator.unmakeMove();
+        return score;
+    }
+}
@@ -0,0 +1,33 @@
+package benchmarks;
+
+import chess.ChessGame;
+import chess.Fen;
+
+import java.util.Map;
+
+/**
+ * The standard positions the benchmarks run over, keyed by the names used in
+ * {@code @Param} lists.
+ */
+public final class Positions {
+    public static final Map<String, String> FENS = Map.of(
+            "opening", "r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq - 2 3",
+            "middlegame", "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            "endgame", "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+            "promotion", "n1n5/PPPk4/8/8/8/8/4Kppp/5N1N b - - 0 1",
+            "check", "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1");
+
+    private Positions() {
+
+    }
+
+    /**
+     * @param name  one of the keys of {@link #FENS}
+     * @param board the board representation, {@code bitboard} or {@code array}
+     * @return a new game in that position
+     */
+    public static ChessGame load(String name, String board) {
+        System.setProperty("chess.board", board);
+        return Fen.parse(FENS.get(name));
+    }
+}
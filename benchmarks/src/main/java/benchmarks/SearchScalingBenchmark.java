@@ -0,0 +1,57 @@
+package benchmarks;
+
+import chess.ChessGame;
+import chess.endgame.Bitbases;
+import chess.search.ParallelSearch;
+import chess.search.SearchLimits;
+import chess.search.SearchResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to reach a fixed depth with Lazy SMP at increasing thread counts. The
+ * shared table is cleared before every search so each one starts cold.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SearchScalingBenchmark {
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int threads;
+
+    @Param({"opening", "middlegame", "endgame"})
+    public String position;
+
+    @Param({"7"})
+    public int depth;
+
+    private ParallelSearch search;
+    private ChessGame game;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Bitbases.load();
+        search = new ParallelSearch(threads, 64);
+        game = Positions.load(position, "bitboard");
+    }
+
+    @Setup(Level.Invocation)
+    public void clearTable() {
+        search.getTable().clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        search.close();
+    }
+
+    @Benchmark
+    public SearchResult timeToDepth() {
+        return search.search(game, SearchLimits.depth(depth), threads);
+    }
+}
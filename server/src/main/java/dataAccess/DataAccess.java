@@ -6,6 +6,7 @@ import model.*;
 import handlers.requests.CreateGameRequest;
 
 import java.util.Collection;
+import java.util.function.Consumer;
 
 public interface DataAccess {
     User addUser(User user) throws DataAccessException; // user
@@ -26,11 +27,15 @@ public interface DataAccess {
 
     Game addGame(CreateGameRequest request) throws DataAccessException; // games
 
-    Game getGame(Integer gameID) throws DataAccessException;
+    Game getGame(Integer gameID) throws DataAccessException; // null for imported games
+
+    void addGames(Collection<Game> games) throws DataAccessException; // bulk import, ids are assigned; never listed or joinable
 
     public boolean updateChessGame(int gameId, ChessGame game);
 
-    Collection<Game> getAllGames() throws DataAccessException;
+    Collection<Game> getAllGames() throws DataAccessException; // the lobby's games, without imports
+
+    void streamGames(Consumer<StoredGame> consumer) throws DataAccessException; // every game, undecoded, one at a time
 
     boolean setPlayer(String username, String color, Game game) throws DataAccessException;
 
@@ -2,14 +2,19 @@ package dataAccess;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 import chess.ChessGame;
+import chess.GameCodec;
 import model.*;
 import handlers.requests.CreateGameRequest;
 
 public class MemoryDataAccess implements DataAccess {
     ArrayList<Game> games = new ArrayList<>();
+    // PGN imports, kept apart so they are never listed or joined
+    ArrayList<Game> imported = new ArrayList<>();
     ArrayList<User> users = new ArrayList<>();
     ArrayList<AuthToken> auths = new ArrayList<>();
     private int nextGameID = 1;
@@ -88,6 +93,24 @@ public class MemoryDataAccess implements DataAccess {
         return newGame;
     }
 
+    public void addGames(Collection<Game> games){
+        for (Game game : games){
+            Game newGame = new Game(nextGameID++, game.getGameName(), game.getGame());
+            newGame.setWhiteUsername(game.getWhiteUsername());
+            newGame.setBlackUsername(game.getBlackUsername());
+            imported.add(newGame);
+        }
+    }
+
+    public void streamGames(Consumer<StoredGame> consumer){
+        for (List<Game> list : List.of(games, imported)){
+            for (Game game : list){
+                ChessGame chess = game.getGame();
+                consumer.accept(new StoredGame(game.getGameID(), GameCodec.encode(chess), chess.getMoveLog().encode()));
+            }
+        }
+    }
+
     public Collection<Game> getAllGames(){
         return games;
     }
@@ -109,6 +132,7 @@ public class MemoryDataAccess implements DataAccess {
 
     public void clearGames(){
         games.clear();
+        imported.clear();
     }
 
     @Override
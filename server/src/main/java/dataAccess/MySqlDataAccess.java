@@ -1,6 +1,8 @@
 package dataAccess;
 
 import chess.ChessGame;
+import chess.GameCodec;
+import chess.MoveLog;
 import com.google.gson.Gson;
 import model.AuthToken;
 import model.Game;
@@ -12,6 +14,7 @@ import java.sql.*;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 import static java.sql.Statement.*;
 import static java.sql.Types.*;
@@ -27,8 +30,12 @@ public class MySqlDataAccess implements DataAccess{
               `gameName` varchar(256) NOT NULL,
               `game` TEXT DEFAULT NULL,
               `json` TEXT DEFAULT NULL,
+              `state` BLOB DEFAULT NULL,
+              `moves` BLOB DEFAULT NULL,
+              `imported` BOOLEAN NOT NULL DEFAULT FALSE,
               PRIMARY KEY (`gameID`),
-              INDEX(gameName)
+              INDEX(gameName),
+              INDEX(imported)
             )
             """,
             """
@@ -58,11 +65,32 @@ public class MySqlDataAccess implements DataAccess{
                     preparedStatement.executeUpdate();
                 }
             }
+            addColumn(conn, "state", "BLOB DEFAULT NULL");
+            addColumn(conn, "moves", "BLOB DEFAULT NULL");
+            addColumn(conn, "imported", "BOOLEAN NOT NULL DEFAULT FALSE, ADD INDEX(imported)");
         } catch (SQLException ex) {
             throw new DataAccessException(String.format("Unable to configure database: %s", ex.getMessage()));
         }
     }
 
+    // games tables created before games were stored as GameCodec bytes have no state
+    // column, those created before move logs were kept have no moves column, and
+    // those created before PGN imports have no imported column
+    private void addColumn(Connection conn, String column, String definition) throws SQLException {
+        var statement = "SELECT COUNT(*) FROM information_schema.COLUMNS WHERE TABLE_SCHEMA=DATABASE() AND TABLE_NAME='games' AND COLUMN_NAME=?";
+        try (var ps = conn.prepareStatement(statement)) {
+            ps.setString(1, column);
+            try (var rs = ps.executeQuery()) {
+                if (rs.next() && rs.getInt(1) > 0) {
+                    return;
+                }
+            }
+        }
+        try (var ps = conn.prepareStatement("ALTER TABLE games ADD COLUMN `" + column + "` " + definition)) {
+            ps.executeUpdate();
+        }
+    }
+
     public MySqlDataAccess() throws DataAccessException {
         configureDatabase();
     }
@@ -143,16 +171,41 @@ public class MySqlDataAccess implements DataAccess{
 
                                                                                                                                     //games
     public Game addGame(CreateGameRequest request) throws DataAccessException {
-        var statement = "INSERT INTO games (gameName, json) VALUES (?, ?)";
+        var statement = "INSERT INTO games (gameName, state) VALUES (?, ?)";
         Game temp = new Game(0, request.getGameName());
-        var json = new Gson().toJson(temp.getGame());
-        int id = executeUpdate(statement, temp.getGameName(), json);
+        int id = executeUpdate(statement, temp.getGameName(), temp.getGame());
         return new Game(id , request.getGameName(), temp.getGame());
     }
 
+    // one transaction per batch, so the rows are committed together; imported rows
+    // are kept out of the lobby and cannot be joined
+    public void addGames(Collection<Game> games) throws DataAccessException {
+        var statement = "INSERT INTO games (gameName, whiteUsername, blackUsername, state, moves, imported) VALUES (?, ?, ?, ?, ?, TRUE)";
+        try (var conn = DatabaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+            try (var ps = conn.prepareStatement(statement)) {
+                for (Game game : games) {
+                    ps.setString(1, game.getGameName());
+                    ps.setString(2, game.getWhiteUsername());
+                    ps.setString(3, game.getBlackUsername());
+                    ps.setBytes(4, GameCodec.encode(game.getGame()));
+                    ps.setBytes(5, game.getGame().getMoveLog().encode());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException(String.format("unable to import games: %s", e.getMessage()));
+        }
+    }
+
     public Game getGame(Integer gameID) throws DataAccessException{
         try (var conn = DatabaseManager.getConnection()) {
-            var statement = "SELECT * FROM games WHERE gameID=?";
+            var statement = "SELECT * FROM games WHERE gameID=? AND NOT imported";
             try (var ps = conn.prepareStatement(statement)) {
                 ps.setInt(1, gameID);
                 try (var rs = ps.executeQuery()) {
@@ -170,7 +223,7 @@ public class MySqlDataAccess implements DataAccess{
     public Collection<Game> getAllGames() throws DataAccessException {
         var result = new ArrayList<Game>();
         try (var conn = DatabaseManager.getConnection()) {
-            var statement = "SELECT * FROM games";
+            var statement = "SELECT * FROM games WHERE NOT imported";
             try (var ps = conn.prepareStatement(statement)) {
                 try (var rs = ps.executeQuery()) {
                     while (rs.next()) {
@@ -184,6 +237,23 @@ public class MySqlDataAccess implements DataAccess{
         return result;
     }
 
+    public void streamGames(Consumer<StoredGame> consumer) throws DataAccessException {
+        var statement = "SELECT gameID, state, moves FROM games";
+        try (var conn = DatabaseManager.getConnection()) {
+            try (var ps = conn.prepareStatement(statement, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                // Connector/J streams rows one at a time for this fetch size instead of reading the whole table
+                ps.setFetchSize(Integer.MIN_VALUE);
+                try (var rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        consumer.accept(new StoredGame(rs.getInt("gameID"), rs.getBytes("state"), rs.getBytes("moves")));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException(String.format("Unable to read data: %s", e.getMessage()));
+        }
+    }
+
     public boolean setPlayer(String username, String color, Game game) throws DataAccessException {
         //System.out.println(game.getGameID() + game.getGameName() + game.getBlackUsername() + game.getWhiteUsername());
         if (Objects.equals(color, null)) {
@@ -222,10 +292,11 @@ public class MySqlDataAccess implements DataAccess{
 
     public boolean updateChessGame(int gameId, ChessGame game){
         try (var conn = DatabaseManager.getConnection()) {
-            var statement = "UPDATE games Set json=? WHERE gameID=?";
+            var statement = "UPDATE games Set state=?, moves=?, json=NULL WHERE gameID=?";
             try (var ps = conn.prepareStatement(statement)) {
-                ps.setString(1, new Gson().toJson(game));
-                ps.setInt(2, gameId);
+                ps.setBytes(1, GameCodec.encode(game));
+                ps.setBytes(2, game.getMoveLog().encode());
+                ps.setInt(3, gameId);
                 ps.executeUpdate();
                 return true;
             }
@@ -249,7 +320,7 @@ public class MySqlDataAccess implements DataAccess{
                     switch (param) {
                         case String p -> ps.setString(i + 1, p);
                         case Integer p -> ps.setInt(i + 1, p);
-                        case ChessGame p -> ps.setString(i + 1, new Gson().toJson(p));
+                        case ChessGame p -> ps.setBytes(i + 1, GameCodec.encode(p));
                         case null -> ps.setNull(i + 1,NULL);
                         default -> {
                         }
@@ -282,7 +353,23 @@ public class MySqlDataAccess implements DataAccess{
         Game game = new Game(rs.getInt("gameID"), rs.getString("gameName"));
         game.setBlackUsername(rs.getString("blackUsername"));
         game.setWhiteUsername(rs.getString("whiteUsername"));
-        game.setGame(new Gson().fromJson(rs.getString("json"), ChessGame.class));
+        byte[] state = rs.getBytes("state");
+        if (state != null) {
+            game.setGame(GameCodec.decode(state));
+            byte[] moves = rs.getBytes("moves");
+            if (moves != null) {
+                game.getGame().setMoveLog(MoveLog.decode(moves));
+            }
+        } else {
+            // a row written as JSON before the binary codec; convert it on first read
+            game.setGame(new Gson().fromJson(rs.getString("json"), ChessGame.class));
+            if (game.getGame() != null) {
+                // rows older than castling rights get the constructor's full set,
+                // so keep only those the pieces allow
+                game.getGame().dropLostCastlingRights();
+                updateChessGame(game.getGameID(), game.getGame());
+            }
+        }
         return game;
     }
 
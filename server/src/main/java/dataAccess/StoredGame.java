@@ -0,0 +1,30 @@
+package dataAccess;
+
+/**
+ * A game row as it is stored, before decoding: the {@link chess.GameCodec}
+ * bytes of its position and the {@link chess.MoveLog} bytes of its moves,
+ * either of which may be null for rows written before they were kept
+ */
+public class StoredGame {
+    private final int gameID;
+    private final byte[] state;
+    private final byte[] moves;
+
+    public StoredGame(int gameID, byte[] state, byte[] moves) {
+        this.gameID = gameID;
+        this.state = state;
+        this.moves = moves;
+    }
+
+    public int getGameID() {
+        return gameID;
+    }
+
+    public byte[] getState() {
+        return state;
+    }
+
+    public byte[] getMoves() {
+        return moves;
+    }
+}
@@ -1,5 +1,6 @@
 package server;
 
+import chess.endgame.Bitbases;
 import com.google.gson.Gson;
 import dataAccess.DataAccess;
 import dataAccess.DataAccessException;
@@ -44,6 +45,11 @@ public class Server {
     }
 
     public int run(int desiredPort) {
+        // endgame tables load beside startup; searches see no tables until then
+        Thread bitbases = new Thread(Bitbases::load, "bitbases");
+        bitbases.setDaemon(true);
+        bitbases.start();
+
         Spark.port(desiredPort);
 
         Spark.staticFiles.location("web");
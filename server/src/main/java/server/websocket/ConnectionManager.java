@@ -13,22 +13,29 @@ public class ConnectionManager {
     public final ConcurrentHashMap<Integer, ArrayList<Session>> connections = new ConcurrentHashMap<>();
 
     public void add(int gameId, Session session) {
-        ArrayList<Session> list = connections.get(gameId);
-        if (list == null){
-            connections.put(gameId, new ArrayList<>());
-            list = connections.get(gameId);
-        }
-        list.add(session);
+        connections.compute(gameId, (id, cons) -> {
+            if (cons == null){
+                cons = new ArrayList<>();
+            }
+            cons.add(session);
+            return cons;
+        });
     }
 
+    // the game's entry goes when its last session leaves, atomically with add
     public void remove(int gameId, Session session) {
-        var cons = connections.get(gameId);
-        cons.remove(session);
+        connections.computeIfPresent(gameId, (id, cons) -> {
+            cons.remove(session);
+            return cons.isEmpty() ? null : cons;
+        });
     }
 
     public void broadcast(int gameId, Session session, String notification) throws IOException {
         var removeList = new ArrayList<>();
         var cons = connections.get(gameId);
+        if (cons == null) {
+            return;
+        }
         for (var sesh : cons) {
             if (sesh.isOpen()) {
                 if (sesh != session) {
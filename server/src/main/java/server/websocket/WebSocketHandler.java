@@ -2,6 +2,7 @@ package server.websocket;
 
 import chess.ChessGame;
 import chess.ChessMove;
+import chess.GameStatus;
 import chess.InvalidMoveException;
 import com.google.gson.Gson;
 import dataAccess.*;
@@ -44,7 +45,7 @@ public class WebSocketHandler {
             String username = dataAccess.getAuth(command.getAuthString()).getUsername();
             Game gameContainer = dataAccess.getGame(command.getGameId());
             ChessGame game = gameContainer.getGame();
-            LoadGame loadGameMessage = new LoadGame(game);
+            LoadGame loadGameMessage = new LoadGame(game.getSnapshot());
             connections.add(command.getGameId(), session);
             String message;
             message = String.format("%s is watching the game!", username);
@@ -69,7 +70,7 @@ public class WebSocketHandler {
                 throw new Exception();
             }
             ChessGame game = gameContainer.getGame();
-            LoadGame loadGameMessage = new LoadGame(game);
+            LoadGame loadGameMessage = new LoadGame(game.getSnapshot());
             connections.add(command.getGameId(), session);
             String message;
             message = String.format("%s has joined the game as %s!", username, command.getColor().toString());
@@ -151,23 +152,25 @@ public class WebSocketHandler {
             else {
                 var winner = (game.getTeamTurn() == ChessGame.TeamColor.WHITE) ? "White" : "Black";
                 game.makeMove(move);
+                GameStatus status = game.getStatus();
+                if (status.isOver()){
+                    game.fished();
+                }
                 dataAccess.updateChessGame(command.getGameId(), game);
                 var message = String.format("%s made a move", userName);
-                var loadGameMessage = new LoadGame(game);
+                var loadGameMessage = new LoadGame(game.getSnapshot());
                 var notification = new Notification(message);
                 connections.broadcast(command.getGameId(), session, new Gson().toJson(notification));
                 connections.broadcast(command.getGameId(), null, new Gson().toJson(loadGameMessage));
-                if (game.isInCheckmate(game.getTeamTurn())){
-                    var check = new Notification(String.format("CHECKMATE %s has won! the game is over ", userName));
-                    connections.broadcast(command.getGameId(), null, new Gson().toJson(check));
-                }
-                else if(game.isInCheck(game.getTeamTurn())){
-                    var check = new Notification(game.getTeamTurn().toString() + " is in check");
-                    connections.broadcast(command.getGameId(), null, new Gson().toJson(check));
-                }
-                else if (game.isInStalemate(game.getTeamTurn())){
-                    var check = new Notification("the game has reached a stalemate and is over");
-                    connections.broadcast(command.getGameId(), null, new Gson().toJson(check));
+                String statusMessage = switch (status){
+                    case CHECKMATE -> String.format("CHECKMATE %s has won! the game is over ", userName);
+                    case STALEMATE -> "the game has reached a stalemate and is over";
+                    case DRAW -> String.format("the game is a draw by %s and is over", drawReason(game));
+                    case CHECK -> game.getTeamTurn().toString() + " is in check";
+                    case NORMAL -> null;
+                };
+                if (statusMessage != null){
+                    connections.broadcast(command.getGameId(), null, new Gson().toJson(new Notification(statusMessage)));
                 }
             }
         } catch (Exception e) {
@@ -176,6 +179,14 @@ public class WebSocketHandler {
         }
     }
 
-
+    private String drawReason(ChessGame game) {
+        if (game.isInsufficientMaterial()){
+            return "insufficient material";
+        }
+        if (game.isFiftyMoveDraw()){
+            return "the fifty-move rule";
+        }
+        return "threefold repetition";
+    }
 
 }
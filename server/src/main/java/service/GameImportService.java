@@ -0,0 +1,196 @@
+package service;
+
+import chess.ChessGame;
+import chess.pgn.PgnGame;
+import chess.pgn.PgnReader;
+import dataAccess.DataAccess;
+import dataAccess.DataAccessException;
+import dataAccess.MySqlDataAccess;
+import model.Game;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Loads games from PGN files into the store. The calling thread streams the
+ * text and cuts it into batches; worker threads replay each batch's moves
+ * through {@link ChessGame}, which checks every move, and the calling thread
+ * writes the replayed batches in order with one {@link DataAccess#addGames}
+ * call each. At most two batches per worker are in flight, so memory stays
+ * bounded however large the file is.
+ * <p>
+ * Imported games are archived, not played: the store keeps them out of the
+ * game list and out of reach of joins, and only {@link DataAccess#streamGames}
+ * sees them. No players are seated; the PGN players are kept in the game name
+ * only, since a seat holds the username that may move for it.
+ */
+public class GameImportService {
+    private static final int MAX_NAME = 256;
+
+    private final DataAccess dataAccess;
+    private final int threads;
+    private final int batchSize;
+
+    public GameImportService(DataAccess dataAccess) {
+        this(dataAccess, Runtime.getRuntime().availableProcessors(), 1000);
+    }
+
+    /**
+     * @param threads   worker threads replaying moves
+     * @param batchSize games written per store call
+     */
+    public GameImportService(DataAccess dataAccess, int threads, int batchSize) {
+        this.dataAccess = dataAccess;
+        this.threads = Math.max(1, threads);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public ImportReport importPgn(Path file) throws IOException, DataAccessException {
+        return importPgn(file, null);
+    }
+
+    /**
+     * @param progress called with the running totals after each batch is
+     *                 written, or null
+     */
+    public ImportReport importPgn(Path file, Consumer<ImportReport> progress) throws IOException, DataAccessException {
+        try (PgnReader reader = PgnReader.open(file)) {
+            return importPgn(reader, progress);
+        }
+    }
+
+    /**
+     * Imports every game the reader has left. A game with an illegal or
+     * unreadable move is counted as rejected and skipped
+     *
+     * @return the totals, with the throughput of the whole import
+     * @throws DataAccessException if a batch cannot be written; the batches
+     *                             before it stay imported
+     */
+    public ImportReport importPgn(PgnReader reader, Consumer<ImportReport> progress) throws IOException, DataAccessException {
+        long start = System.nanoTime();
+        LongAdder rejected = new LongAdder();
+        long imported = 0;
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "game-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ArrayDeque<Future<List<Game>>> pending = new ArrayDeque<>();
+        try {
+            List<PgnGame> batch = new ArrayList<>(batchSize);
+            PgnGame next;
+            while ((next = reader.next()) != null) {
+                batch.add(next);
+                if (batch.size() == batchSize) {
+                    List<PgnGame> games = batch;
+                    pending.add(pool.submit(() -> replay(games, rejected)));
+                    batch = new ArrayList<>(batchSize);
+                }
+                if (pending.size() == 2 * threads) {
+                    imported += write(pending.poll());
+                    report(progress, imported, rejected, start);
+                }
+            }
+            if (!batch.isEmpty()) {
+                List<PgnGame> games = batch;
+                pending.add(pool.submit(() -> replay(games, rejected)));
+            }
+            while (!pending.isEmpty()) {
+                imported += write(pending.poll());
+                report(progress, imported, rejected, start);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return new ImportReport(imported, rejected.sum(), System.nanoTime() - start);
+    }
+
+    private int write(Future<List<Game>> replayed) throws DataAccessException {
+        List<Game> games;
+        try {
+            games = replayed.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataAccessException("import interrupted");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("game replay failed", e.getCause());
+        }
+        if (!games.isEmpty()) {
+            dataAccess.addGames(games);
+        }
+        return games.size();
+    }
+
+    private static void report(Consumer<ImportReport> progress, long imported, LongAdder rejected, long start) {
+        if (progress != null) {
+            progress.accept(new ImportReport(imported, rejected.sum(), System.nanoTime() - start));
+        }
+    }
+
+    private static List<Game> replay(List<PgnGame> batch, LongAdder rejected) {
+        List<Game> games = new ArrayList<>(batch.size());
+        for (PgnGame pgn : batch) {
+            ChessGame chess;
+            try {
+                chess = pgn.replay();
+            } catch (IllegalArgumentException e) {
+                rejected.increment();
+                continue;
+            }
+            if (!pgn.getResult().equals("*")) {
+                chess.fished();
+            }
+            // the players are named only in the game name; the seats hold
+            // usernames, which the join and move checks trust
+            games.add(new Game(0, name(pgn, tag(pgn, "White"), tag(pgn, "Black")), chess));
+        }
+        return games;
+    }
+
+    // "Event: White vs Black", cut to fit the gameName column
+    private static String name(PgnGame pgn, String white, String black) {
+        String event = tag(pgn, "Event");
+        String players = (white == null ? "?" : white) + " vs " + (black == null ? "?" : black);
+        String name = event == null ? players : event + ": " + players;
+        return name.length() > MAX_NAME ? name.substring(0, MAX_NAME) : name;
+    }
+
+    // a tag's value, or null when it is missing or unknown
+    private static String tag(PgnGame pgn, String name) {
+        String value = pgn.getTags().get(name);
+        if (value == null || value.isBlank() || value.equals("?")) {
+            return null;
+        }
+        return value.length() > MAX_NAME ? value.substring(0, MAX_NAME) : value;
+    }
+
+    /**
+     * Imports PGN files into the configured database, printing the
+     * throughput every 100,000 games and at the end of each file
+     */
+    public static void main(String[] args) throws IOException, DataAccessException {
+        if (args.length == 0) {
+            System.err.println("usage: GameImportService <pgn>...");
+            return;
+        }
+        GameImportService service = new GameImportService(new MySqlDataAccess());
+        for (String file : args) {
+            ImportReport report = service.importPgn(Path.of(file), running -> {
+                if (running.getImported() % 100_000 < service.batchSize) {
+                    System.out.println(running);
+                }
+            });
+            System.out.println(file + ": " + report);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package service;
+
+/**
+ * A stored game that failed verification, and why
+ */
+public class GameProblem {
+    private final int gameID;
+    private final int ply;
+    private final String message;
+
+    /**
+     * @param ply the ply of the offending move, or -1 if the problem is not
+     *            with one move
+     */
+    public GameProblem(int gameID, int ply, String message) {
+        this.gameID = gameID;
+        this.ply = ply;
+        this.message = message;
+    }
+
+    public int getGameID() {
+        return gameID;
+    }
+
+    public int getPly() {
+        return ply;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return "game " + gameID + (ply < 0 ? "" : " ply " + ply) + ": " + message;
+    }
+}
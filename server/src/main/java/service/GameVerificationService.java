@@ -0,0 +1,172 @@
+package service;
+
+import chess.ChessGame;
+import chess.GameCodec;
+import chess.MoveLog;
+import chess.moves.Move;
+import dataAccess.DataAccess;
+import dataAccess.DataAccessException;
+import dataAccess.MySqlDataAccess;
+import dataAccess.StoredGame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Re-checks every stored game: each move of its log must be legal when it
+ * is played, and the moves must lead to the position stored beside them.
+ * The calling thread reads the games one at a time from
+ * {@link DataAccess#streamGames} and hands them out in batches to a
+ * {@link ForkJoinPool}. Each worker replays on two games of its own that it
+ * reuses for every game it checks. At most two batches per worker are
+ * waiting, so the cursor is held back rather than memory filling up.
+ */
+public class GameVerificationService {
+    private final DataAccess dataAccess;
+    private final int threads;
+    private final int batchSize;
+
+    public GameVerificationService(DataAccess dataAccess) {
+        this(dataAccess, Runtime.getRuntime().availableProcessors(), 256);
+    }
+
+    /**
+     * @param threads   worker threads replaying games
+     * @param batchSize games handed to a worker at a time
+     */
+    public GameVerificationService(DataAccess dataAccess, int threads, int batchSize) {
+        this.dataAccess = dataAccess;
+        this.threads = Math.max(1, threads);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Verifies every stored game. Games written before move logs were kept
+     * have nothing to replay and are counted as unverified
+     *
+     * @param problems called with each game that fails, one call at a time
+     * @param progress called with the running totals after each batch is
+     *                 handed out, or null
+     * @return the totals, with the throughput of the whole run
+     */
+    public VerificationReport verifyAll(Consumer<GameProblem> problems, Consumer<VerificationReport> progress)
+            throws DataAccessException {
+        long start = System.nanoTime();
+        Totals totals = new Totals();
+        ThreadLocal<Worker> workers = ThreadLocal.withInitial(Worker::new);
+        Semaphore slots = new Semaphore(2 * threads);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            List<StoredGame> batch = new ArrayList<>(batchSize);
+            Consumer<List<StoredGame>> submit = games -> {
+                slots.acquireUninterruptibly();
+                pool.execute(() -> {
+                    try {
+                        Worker worker = workers.get();
+                        for (StoredGame game : games) {
+                            worker.verify(game, totals, problems);
+                        }
+                    } finally {
+                        slots.release();
+                    }
+                });
+                if (progress != null) {
+                    progress.accept(totals.report(start));
+                }
+            };
+            dataAccess.streamGames(game -> {
+                batch.add(game);
+                if (batch.size() == batchSize) {
+                    submit.accept(new ArrayList<>(batch));
+                    batch.clear();
+                }
+            });
+            if (!batch.isEmpty()) {
+                submit.accept(batch);
+            }
+            // every slot is free again once the last batch is done
+            slots.acquireUninterruptibly(2 * threads);
+        } finally {
+            pool.shutdown();
+        }
+        try {
+            pool.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return totals.report(start);
+    }
+
+    private static final class Totals {
+        final LongAdder checked = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LongAdder unverified = new LongAdder();
+
+        VerificationReport report(long start) {
+            return new VerificationReport(checked.sum(), failed.sum(), unverified.sum(), System.nanoTime() - start);
+        }
+    }
+
+    // one per pool thread, so its games are reused without locking
+    private static final class Worker {
+        final ChessGame replay = new ChessGame();
+        final ChessGame stored = new ChessGame();
+
+        void verify(StoredGame game, Totals totals, Consumer<GameProblem> problems) {
+            GameProblem problem = null;
+            try {
+                if (game.getState() == null || game.getMoves() == null) {
+                    totals.unverified.increment();
+                } else {
+                    problem = check(game);
+                }
+            } catch (RuntimeException e) {
+                problem = new GameProblem(game.getGameID(), -1, "unreadable: " + e.getMessage());
+            }
+            totals.checked.increment();
+            if (problem != null) {
+                totals.failed.increment();
+                synchronized (problems) {
+                    problems.accept(problem);
+                }
+            }
+        }
+
+        private GameProblem check(StoredGame game) {
+            GameCodec.decode(game.getState(), stored);
+            MoveLog log = MoveLog.decode(game.getMoves());
+            if (log.size() == 0) {
+                return null;
+            }
+            int ply = log.replay(replay);
+            if (ply >= 0) {
+                return new GameProblem(game.getGameID(), ply, "illegal move " + Move.name(log.get(ply)));
+            }
+            if (replay.positionKey() != stored.positionKey()) {
+                return new GameProblem(game.getGameID(), -1, "moves do not lead to the stored position");
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Verifies the configured database, printing each failing game and the
+     * throughput every 100,000 games
+     */
+    public static void main(String[] args) throws DataAccessException {
+        GameVerificationService service = new GameVerificationService(new MySqlDataAccess());
+        long[] printed = {0};
+        VerificationReport report = service.verifyAll(System.out::println, running -> {
+            if (running.getChecked() >= printed[0] + 100_000) {
+                printed[0] = running.getChecked();
+                System.out.println(running);
+            }
+        });
+        System.out.println(report);
+    }
+}
@@ -0,0 +1,42 @@
+package service;
+
+/**
+ * How far a bulk game import has got: games written, games rejected because
+ * a move was illegal or unreadable, and the time taken so far
+ */
+public class ImportReport {
+    private final long imported;
+    private final long rejected;
+    private final long nanos;
+
+    public ImportReport(long imported, long rejected, long nanos) {
+        this.imported = imported;
+        this.rejected = rejected;
+        this.nanos = nanos;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * @return games read, imported or rejected, per second of wall time
+     */
+    public double getGamesPerSecond() {
+        return nanos == 0 ? 0 : (imported + rejected) * 1e9 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d games imported, %d rejected in %.1f s (%.0f games/s)",
+                imported, rejected, nanos / 1e9, getGamesPerSecond());
+    }
+}
@@ -0,0 +1,45 @@
+package service;
+
+/**
+ * How far a verification run has got: games checked, games found illegal or
+ * inconsistent, games without a move log to check, and the time taken so far
+ */
+public class VerificationReport {
+    private final long checked;
+    private final long failed;
+    private final long unverified;
+    private final long nanos;
+
+    public VerificationReport(long checked, long failed, long unverified, long nanos) {
+        this.checked = checked;
+        this.failed = failed;
+        this.unverified = unverified;
+        this.nanos = nanos;
+    }
+
+    public long getChecked() {
+        return checked;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getUnverified() {
+        return unverified;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public double getGamesPerSecond() {
+        return nanos == 0 ? 0 : checked * 1e9 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d games checked, %d failed, %d without moves in %.1f s (%.0f games/s)",
+                checked, failed, unverified, nanos / 1e9, getGamesPerSecond());
+    }
+}
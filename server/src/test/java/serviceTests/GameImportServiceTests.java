@@ -0,0 +1,70 @@
+package serviceTests;
+
+import chess.pgn.PgnReader;
+import dataAccess.DataAccessException;
+import dataAccess.MemoryDataAccess;
+import dataAccess.StoredGame;
+import handlers.requests.CreateGameRequest;
+import handlers.requests.JoinGameRequest;
+import handlers.requests.ListGamesRequest;
+import model.AuthToken;
+import model.Game;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import service.GameImportService;
+import service.GameService;
+import service.ImportReport;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class GameImportServiceTests {
+    static final String GAMES = """
+            [Event "Casual"]
+            [White "Carlsen"]
+            [Black "Nakamura"]
+            [Result "*"]
+
+            1. e4 e5 2. Nf3 *
+
+            [White "Carlsen"]
+            [Result "1-0"]
+
+            1. e5 1-0
+            """;
+
+    @Test
+    @DisplayName("Imported Games Are Not Listed Or Joinable")
+    public void archived() throws IOException, DataAccessException {
+        MemoryDataAccess dataAccess = new MemoryDataAccess();
+        dataAccess.addGame(new CreateGameRequest("live"));
+        ImportReport report = new GameImportService(dataAccess, 1, 10)
+                .importPgn(new PgnReader(new StringReader(GAMES)), null);
+        Assertions.assertEquals(1, report.getImported());
+        Assertions.assertEquals(1, report.getRejected());
+
+        // the import is stored, as the verifier sees it
+        List<StoredGame> stored = new ArrayList<>();
+        dataAccess.streamGames(stored::add);
+        Assertions.assertEquals(2, stored.size());
+        int importedID = stored.get(1).getGameID();
+
+        AuthToken auth = new AuthToken("alice", "token");
+        dataAccess.addAuth(auth);
+        GameService games = new GameService(dataAccess);
+        Collection<Game> listed = games.listGames(new ListGamesRequest("token")).getGames();
+        Assertions.assertEquals(1, listed.size());
+        Assertions.assertEquals("live", listed.iterator().next().getGameName());
+        Assertions.assertNull(dataAccess.getGame(importedID));
+
+        // the unfinished import cannot be joined and played on
+        JoinGameRequest request = new JoinGameRequest(importedID);
+        request.setAuthorization("token");
+        request.playerColor = "WHITE";
+        Assertions.assertThrows(DataAccessException.class, () -> games.joinGame(request));
+    }
+}
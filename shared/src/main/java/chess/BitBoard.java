@@ -0,0 +1,119 @@
+package chess;
+
+import chess.moves.Attacks;
+
+/**
+ * A chessboard that keeps a 64-bit occupancy mask for each of the twelve
+ * piece kinds, both colors and the whole board next to the 2D array.
+ * <p>
+ * The masks are derived state: they are rebuilt from the array on first use,
+ * which keeps the board's JSON identical to {@link ChessBoard} and lets boards
+ * read back by Gson work without any extra step. Callers must not write into
+ * the array returned by {@link #getBoard()} directly.
+ */
+public class BitBoard extends ChessBoard {
+    private transient long[] masks;
+    private transient long[] colorMasks;
+
+    public BitBoard() {
+
+    }
+
+    /**
+     * @return a bitboard holding the same pieces as the given board
+     */
+    public static BitBoard copyOf(ChessBoard other) {
+        BitBoard copy = new BitBoard();
+        for (int sq = 0; sq < 64; sq++) {
+            copy.setPiece(sq, other.getPiece(sq));
+        }
+        return copy;
+    }
+
+    @Override
+    public ChessBoard copy() {
+        return copyOf(this);
+    }
+
+    private void sync() {
+        masks = new long[12];
+        colorMasks = new long[2];
+        for (int sq = 0; sq < 64; sq++) {
+            ChessPiece piece = getPiece(sq);
+            if (piece != null) {
+                masks[piece.index()] |= 1L << sq;
+                colorMasks[piece.getTeamColor().ordinal()] |= 1L << sq;
+            }
+        }
+    }
+
+    @Override
+    public void setPiece(int square, ChessPiece piece) {
+        if (masks != null) {
+            long bit = 1L << square;
+            ChessPiece old = getPiece(square);
+            if (old != null) {
+                masks[old.index()] &= ~bit;
+                colorMasks[old.getTeamColor().ordinal()] &= ~bit;
+            }
+            if (piece != null) {
+                masks[piece.index()] |= bit;
+                colorMasks[piece.getTeamColor().ordinal()] |= bit;
+            }
+        }
+        super.setPiece(square, piece);
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        masks = new long[12];
+        colorMasks = new long[2];
+    }
+
+    @Override
+    public long pieces(ChessGame.TeamColor color, ChessPiece.PieceType type) {
+        if (masks == null) {
+            sync();
+        }
+        return masks[color.ordinal() * 6 + type.ordinal()];
+    }
+
+    @Override
+    public long pieces(ChessGame.TeamColor color) {
+        if (masks == null) {
+            sync();
+        }
+        return colorMasks[color.ordinal()];
+    }
+
+    @Override
+    public long occupied() {
+        if (masks == null) {
+            sync();
+        }
+        return colorMasks[0] | colorMasks[1];
+    }
+
+    @Override
+    public int kingSquare(ChessGame.TeamColor color) {
+        long kings = pieces(color, ChessPiece.PieceType.KING);
+        return kings == 0 ? -1 : Long.numberOfTrailingZeros(kings);
+    }
+
+    @Override
+    public boolean isAttacked(int square, ChessGame.TeamColor by) {
+        if (masks == null) {
+            sync();
+        }
+        int base = by.ordinal() * 6;
+        long occupied = colorMasks[0] | colorMasks[1];
+        ChessGame.TeamColor defender = (by == ChessGame.TeamColor.WHITE) ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+        long queens = masks[base + ChessPiece.PieceType.QUEEN.ordinal()];
+        return (Attacks.pawn(defender, square) & masks[base + ChessPiece.PieceType.PAWN.ordinal()]) != 0
+                || (Attacks.knight(square) & masks[base + ChessPiece.PieceType.KNIGHT.ordinal()]) != 0
+                || (Attacks.king(square) & masks[base + ChessPiece.PieceType.KING.ordinal()]) != 0
+                || (Attacks.bishop(square, occupied) & (masks[base + ChessPiece.PieceType.BISHOP.ordinal()] | queens)) != 0
+                || (Attacks.rook(square, occupied) & (masks[base + ChessPiece.PieceType.ROOK.ordinal()] | queens)) != 0;
+    }
+}
@@ -0,0 +1,112 @@
+package chess;
+
+/**
+ * An immutable copy of a game's position: the 64 squares packed four bits
+ * each into 32 bytes, as in {@link GameCodec}, plus the turn, castling
+ * rights, en passant square, halfmove clock and whether the game is over.
+ * {@link ChessGame} publishes a new one after each move, so other threads
+ * can read a consistent position without locking the game, however it is
+ * being changed meanwhile.
+ */
+public final class BoardSnapshot {
+    private static final int BLACK_TO_MOVE = 1;
+    private static final int GAME_OVER = 2;
+
+    // square s is in the nibble at bit 4 * (s & 15) of squares[s >>> 4]
+    private final long[] squares;
+    // black to move in bit 0, game over in bit 1, castling rights in bits 4-7,
+    // en passant square + 1 in bits 8-14 and the halfmove clock from bit 16
+    private final int flags;
+    private final long key;
+
+    private BoardSnapshot(long[] squares, int flags, long key) {
+        this.squares = squares;
+        this.flags = flags;
+        this.key = key;
+    }
+
+    static BoardSnapshot of(ChessGame game) {
+        ChessBoard board = game.getBoard();
+        long[] squares = new long[4];
+        for (int square = 0; square < 64; square++) {
+            ChessPiece piece = board.getPiece(square);
+            if (piece != null) {
+                squares[square >>> 4] |= (long) (piece.index() + 1) << (4 * (square & 15));
+            }
+        }
+        int flags = (game.getTeamTurn() == ChessGame.TeamColor.BLACK ? BLACK_TO_MOVE : 0)
+                | (game.gameState() ? GAME_OVER : 0) | (game.getCastlingRights() << 4)
+                | ((game.getEnPassantSquare() + 1) << 8) | (game.getHalfmoveClock() << 16);
+        return new BoardSnapshot(squares, flags, game.positionKey());
+    }
+
+    /**
+     * @return the piece on a square, a1 = 0 and h8 = 63, or null if it is
+     * empty
+     */
+    public ChessPiece getPiece(int square) {
+        int code = (int) (squares[square >>> 4] >>> (4 * (square & 15))) & 15;
+        return code == 0 ? null : ChessPiece.of(code - 1);
+    }
+
+    public ChessPiece getPiece(ChessPosition position) {
+        return getPiece(ChessBoard.square(position.getRow(), position.getColumn()));
+    }
+
+    public ChessGame.TeamColor getTeamTurn() {
+        return (flags & BLACK_TO_MOVE) != 0 ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+    }
+
+    public boolean isGameOver() {
+        return (flags & GAME_OVER) != 0;
+    }
+
+    /**
+     * @see ChessGame#getCastlingRights()
+     */
+    public int getCastlingRights() {
+        return (flags >>> 4) & 15;
+    }
+
+    public int getEnPassantSquare() {
+        return ((flags >>> 8) & 127) - 1;
+    }
+
+    public int getHalfmoveClock() {
+        return flags >>> 16;
+    }
+
+    public long positionKey() {
+        return key;
+    }
+
+    /**
+     * @return a new board holding the snapshot's pieces
+     */
+    public ChessBoard toBoard() {
+        ChessBoard board = ChessBoard.newBoard();
+        for (int square = 0; square < 64; square++) {
+            ChessPiece piece = getPiece(square);
+            if (piece != null) {
+                board.setPiece(square, piece);
+            }
+        }
+        return board;
+    }
+
+    /**
+     * @return a new game in the snapshot's position, with this as its
+     * snapshot. The positions before it are not kept, so the new game cannot
+     * see repetitions of them
+     */
+    public ChessGame toGame() {
+        ChessGame game = new ChessGame(toBoard());
+        game.setUpTeamTurn(getTeamTurn());
+        game.setCastlingRights(getCastlingRights());
+        game.setEnPassantSquare(getEnPassantSquare());
+        game.setHalfmoveClock(getHalfmoveClock());
+        game.setGameOver(isGameOver());
+        game.setSnapshot(this);
+        return game;
+    }
+}
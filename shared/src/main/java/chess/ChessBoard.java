@@ -9,12 +9,52 @@ import java.util.Arrays;
  * signature of the existing methods.
  */
 public class ChessBoard {
+    private static final int UNKNOWN = -2;
+    private static final int[][] KNIGHT_OFFSETS = {{1, 2}, {1, -2}, {-1, 2}, {-1, -2}, {2, 1}, {2, -1}, {-2, 1}, {-2, -1}};
+    private static final int[][] DIRECTIONS = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}, {1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+
     ChessPiece[][] board = new ChessPiece[8][8];
+    private transient int[] kingSquares = {UNKNOWN, UNKNOWN};
+    // Zobrist key of the pieces, only kept up to date once it has been asked for
+    private transient long key;
+    private transient boolean keyed;
 
     public ChessBoard() {
         
     }
 
+    /**
+     * Creates an empty board using the representation selected by the
+     * {@code chess.board} system property: {@code bitboard} (the default) or
+     * {@code array} for the plain 2D-array board.
+     *
+     * @return a new empty board
+     */
+    public static ChessBoard newBoard() {
+        if ("array".equals(System.getProperty("chess.board"))) {
+            return new ChessBoard();
+        }
+        return new BitBoard();
+    }
+
+    /**
+     * @return a new board of the same kind holding the same pieces
+     */
+    public ChessBoard copy() {
+        ChessBoard copy = new ChessBoard();
+        for (int sq = 0; sq < 64; sq++) {
+            copy.setPiece(sq, getPiece(sq));
+        }
+        return copy;
+    }
+
+    /**
+     * @return the 0-63 square index for a row and column, a1 = 0 and h8 = 63
+     */
+    public static int square(int row, int col) {
+        return (row - 1) * 8 + (col - 1);
+    }
+
 
     public ChessPiece[][] getBoard() {
         return board;
@@ -27,7 +67,33 @@ public class ChessBoard {
      * @param piece    the piece to add
      */
     public void addPiece(ChessPosition position, ChessPiece piece) {
-        board[position.getRow() - 1][position.getColumn() - 1] = piece;
+        setPiece(square(position.getRow(), position.getColumn()), piece);
+    }
+
+    /**
+     * Places a piece on a square index, or clears it when piece is null
+     *
+     * @param square the 0-63 square index
+     * @param piece  the piece to add, or null
+     */
+    public void setPiece(int square, ChessPiece piece) {
+        ChessPiece old = board[square >>> 3][square & 7];
+        if (old != null && old.getPieceType() == ChessPiece.PieceType.KING
+                && kingSquares[old.getTeamColor().ordinal()] == square) {
+            kingSquares[old.getTeamColor().ordinal()] = UNKNOWN;
+        }
+        if (piece != null && piece.getPieceType() == ChessPiece.PieceType.KING) {
+            kingSquares[piece.getTeamColor().ordinal()] = square;
+        }
+        if (keyed) {
+            if (old != null) {
+                key ^= Zobrist.piece(old, square);
+            }
+            if (piece != null) {
+                key ^= Zobrist.piece(piece, square);
+            }
+        }
+        board[square >>> 3][square & 7] = piece;
     }
 
     /**
@@ -39,17 +105,144 @@ public class ChessBoard {
      */
     public ChessPiece getPiece(ChessPosition position) {return board[position.getRow() - 1][position.getColumn() - 1];}
 
+    /**
+     * @param square the 0-63 square index
+     * @return the piece on the square, or null
+     */
+    public ChessPiece getPiece(int square) {return board[square >>> 3][square & 7];}
+
+    /**
+     * @return a mask with one bit set for every square holding a piece of this color and type
+     */
+    public long pieces(ChessGame.TeamColor color, ChessPiece.PieceType type) {
+        long mask = 0L;
+        for (int sq = 0; sq < 64; sq++) {
+            ChessPiece piece = getPiece(sq);
+            if (piece != null && piece.getTeamColor() == color && piece.getPieceType() == type) {
+                mask |= 1L << sq;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * @return a mask of every square holding a piece of this color
+     */
+    public long pieces(ChessGame.TeamColor color) {
+        long mask = 0L;
+        for (int sq = 0; sq < 64; sq++) {
+            ChessPiece piece = getPiece(sq);
+            if (piece != null && piece.getTeamColor() == color) {
+                mask |= 1L << sq;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * @return a mask of every occupied square
+     */
+    public long occupied() {
+        long mask = 0L;
+        for (int sq = 0; sq < 64; sq++) {
+            if (getPiece(sq) != null) {
+                mask |= 1L << sq;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * @return the square index of the given team's king, or -1 if it has none
+     */
+    public int kingSquare(ChessGame.TeamColor color) {
+        int cached = kingSquares[color.ordinal()];
+        if (cached == UNKNOWN) {
+            long kings = pieces(color, ChessPiece.PieceType.KING);
+            cached = kings == 0 ? -1 : Long.numberOfTrailingZeros(kings);
+            kingSquares[color.ordinal()] = cached;
+        }
+        return cached;
+    }
+
+    /**
+     * @return the Zobrist key of the pieces on the board, see {@link Zobrist}
+     */
+    public long zobristKey() {
+        if (!keyed) {
+            key = 0L;
+            for (int sq = 0; sq < 64; sq++) {
+                ChessPiece piece = getPiece(sq);
+                if (piece != null) {
+                    key ^= Zobrist.piece(piece, sq);
+                }
+            }
+            keyed = true;
+        }
+        return key;
+    }
+
+    /**
+     * Determines if any piece of the given team attacks a square, looking
+     * outward from the square along rays and knight, king and pawn offsets
+     *
+     * @param square the 0-63 square index
+     * @param by     the attacking team
+     * @return True if the square is attacked
+     */
+    public boolean isAttacked(int square, ChessGame.TeamColor by) {
+        int row = square >>> 3;
+        int col = square & 7;
+        int pawnRow = (by == ChessGame.TeamColor.WHITE) ? row - 1 : row + 1;
+        if (attacker(pawnRow, col - 1, by, ChessPiece.PieceType.PAWN) || attacker(pawnRow, col + 1, by, ChessPiece.PieceType.PAWN)) {
+            return true;
+        }
+        for (int[] offset : KNIGHT_OFFSETS) {
+            if (attacker(row + offset[0], col + offset[1], by, ChessPiece.PieceType.KNIGHT)) {
+                return true;
+            }
+        }
+        for (int d = 0; d < DIRECTIONS.length; d++) {
+            ChessPiece.PieceType slider = (d < 4) ? ChessPiece.PieceType.BISHOP : ChessPiece.PieceType.ROOK;
+            int r = row + DIRECTIONS[d][0];
+            int c = col + DIRECTIONS[d][1];
+            if (attacker(r, c, by, ChessPiece.PieceType.KING)) {
+                return true;
+            }
+            while (r >= 0 && r < 8 && c >= 0 && c < 8) {
+                ChessPiece piece = board[r][c];
+                if (piece != null) {
+                    if (piece.getTeamColor() == by && (piece.getPieceType() == slider || piece.getPieceType() == ChessPiece.PieceType.QUEEN)) {
+                        return true;
+                    }
+                    break;
+                }
+                r += DIRECTIONS[d][0];
+                c += DIRECTIONS[d][1];
+            }
+        }
+        return false;
+    }
+
+    private boolean attacker(int row, int col, ChessGame.TeamColor by, ChessPiece.PieceType type) {
+        if (row < 0 || row >= 8 || col < 0 || col >= 8) {
+            return false;
+        }
+        ChessPiece piece = board[row][col];
+        return piece != null && piece.getTeamColor() == by && piece.getPieceType() == type;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        ChessBoard that = (ChessBoard) o;
+        if (!(o instanceof ChessBoard that)) return false;
         return Arrays.deepEquals(board, that.board);
     }
 
     @Override
     public int hashCode() {
-        return Arrays.deepHashCode(board);
+        long k = zobristKey();
+        return (int) (k ^ (k >>> 32));
     }
 
     @Override
@@ -82,46 +275,57 @@ public class ChessBoard {
         return row >= 1 && row <= 8 && col >= 1 && col <= 8;
     }
 
+    /**
+     * Removes every piece from the board
+     */
+    public void clear() {
+        board = new ChessPiece[8][8];
+        kingSquares[0] = UNKNOWN;
+        kingSquares[1] = UNKNOWN;
+        key = 0L;
+        keyed = true;
+    }
+
     /**
      * Sets the board to the default starting board
      * (How the game of chess normally starts)
      */
     public void resetBoard() {
-        board = new ChessPiece[8][8];
-        addPiece(new ChessPosition(1,1), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
-        addPiece(new ChessPosition(1,2), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT));
-        addPiece(new ChessPosition(1,3), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP));
-        addPiece(new ChessPosition(1,4), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.QUEEN));
-        addPiece(new ChessPosition(1,5), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING));
-        addPiece(new ChessPosition(1,6), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP));
-        addPiece(new ChessPosition(1,7), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT));
-        addPiece(new ChessPosition(1,8), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
-
-        addPiece(new ChessPosition(2,1), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
-        addPiece(new ChessPosition(2,2), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
-        addPiece(new ChessPosition(2,3), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
-        addPiece(new ChessPosition(2,4), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
-        addPiece(new ChessPosition(2,5), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
-        addPiece(new ChessPosition(2,6), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
-        addPiece(new ChessPosition(2,7), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
-        addPiece(new ChessPosition(2,8), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
-
-        addPiece(new ChessPosition(8,1), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK));
-        addPiece(new ChessPosition(8,2), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT));
-        addPiece(new ChessPosition(8,3), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP));
-        addPiece(new ChessPosition(8,4), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.QUEEN));
-        addPiece(new ChessPosition(8,5), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KING));
-        addPiece(new ChessPosition(8,6), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP));
-        addPiece(new ChessPosition(8,7), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT));
-        addPiece(new ChessPosition(8,8), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK));
-
-        addPiece(new ChessPosition(7,1), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
-        addPiece(new ChessPosition(7,2), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
-        addPiece(new ChessPosition(7,3), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
-        addPiece(new ChessPosition(7,4), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
-        addPiece(new ChessPosition(7,5), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
-        addPiece(new ChessPosition(7,6), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
-        addPiece(new ChessPosition(7,7), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
-        addPiece(new ChessPosition(7,8), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
+        clear();
+        addPiece(ChessPosition.of(1,1), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
+        addPiece(ChessPosition.of(1,2), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT));
+        addPiece(ChessPosition.of(1,3), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP));
+        addPiece(ChessPosition.of(1,4), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.QUEEN));
+        addPiece(ChessPosition.of(1,5), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING));
+        addPiece(ChessPosition.of(1,6), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP));
+        addPiece(ChessPosition.of(1,7), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT));
+        addPiece(ChessPosition.of(1,8), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
+
+        addPiece(ChessPosition.of(2,1), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
+        addPiece(ChessPosition.of(2,2), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
+        addPiece(ChessPosition.of(2,3), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
+        addPiece(ChessPosition.of(2,4), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
+        addPiece(ChessPosition.of(2,5), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
+        addPiece(ChessPosition.of(2,6), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
+        addPiece(ChessPosition.of(2,7), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
+        addPiece(ChessPosition.of(2,8), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
+
+        addPiece(ChessPosition.of(8,1), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK));
+        addPiece(ChessPosition.of(8,2), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT));
+        addPiece(ChessPosition.of(8,3), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP));
+        addPiece(ChessPosition.of(8,4), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.QUEEN));
+        addPiece(ChessPosition.of(8,5), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KING));
+        addPiece(ChessPosition.of(8,6), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP));
+        addPiece(ChessPosition.of(8,7), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT));
+        addPiece(ChessPosition.of(8,8), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK));
+
+        addPiece(ChessPosition.of(7,1), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
+        addPiece(ChessPosition.of(7,2), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
+        addPiece(ChessPosition.of(7,3), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
+        addPiece(ChessPosition.of(7,4), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
+        addPiece(ChessPosition.of(7,5), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
+        addPiece(ChessPosition.of(7,6), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
+        addPiece(ChessPosition.of(7,7), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
+        addPiece(ChessPosition.of(7,8), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
     }
 }
@@ -1,5 +1,21 @@
 package chess;
 
+import chess.endgame.Bitbases;
+import chess.endgame.Outcome;
+import chess.moves.Attacks;
+import chess.moves.LegalMoveGenerator;
+import chess.moves.Move;
+import chess.moves.MoveGenerator;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 
@@ -9,15 +25,89 @@ import java.util.HashSet;
  * Note: You can add to this class, but you may not alter
  * signature of the existing methods.
  */
+@JsonAdapter(ChessGame.Adapter.class)
 public class ChessGame {
+    public static final int WHITE_KINGSIDE = 1;
+    public static final int WHITE_QUEENSIDE = 2;
+    public static final int BLACK_KINGSIDE = 4;
+    public static final int BLACK_QUEENSIDE = 8;
+
+    // validMoves uses the pin and check mask generator; -Dchess.movegen=filter
+    // switches back to making each pseudo-legal move and testing for check
+    private static final boolean PIN_MOVES = !"filter".equals(System.getProperty("chess.movegen"));
+
+    // castling rights kept after a move from or to each square
+    private static final int[] CASTLING_MASK = new int[64];
+
+    static {
+        Arrays.fill(CASTLING_MASK, 15);
+        CASTLING_MASK[0] = ~WHITE_QUEENSIDE & 15;
+        CASTLING_MASK[4] = ~(WHITE_KINGSIDE | WHITE_QUEENSIDE) & 15;
+        CASTLING_MASK[7] = ~WHITE_KINGSIDE & 15;
+        CASTLING_MASK[56] = ~BLACK_QUEENSIDE & 15;
+        CASTLING_MASK[60] = ~(BLACK_KINGSIDE | BLACK_QUEENSIDE) & 15;
+        CASTLING_MASK[63] = ~BLACK_KINGSIDE & 15;
+    }
 
     private boolean gameOver = false;
     private TeamColor teamColor;
-    private ChessBoard board = new ChessBoard();
+    private ChessBoard board;
+    private int castling = WHITE_KINGSIDE | WHITE_QUEENSIDE | BLACK_KINGSIDE | BLACK_QUEENSIDE;
+    private int enPassant = -1;
+    private int halfmoveClock = 0;
+    private PositionHistory history = new PositionHistory();
+
+    // undo entries pushed by makeMove(int): the packed move in bits 0-14, the
+    // previous turn in bit 15, the captured piece's index + 1 in bits 16-19,
+    // then the previous castling rights, en passant square + 1 and halfmove clock
+    private transient long[] undo = new long[64];
+    private transient int plies = 0;
+    // boards set up by hand can have more moves than any game reaches
+    private transient int[] moveBuffer = new int[MoveGenerator.MAX_BOARD_MOVES];
+    // kept out of the JSON form; DataAccess stores it beside the game
+    private transient MoveLog log = new MoveLog();
+    // the position as of the last move made with makeMove(ChessMove) or the
+    // last set-up call; only the thread changing the game writes it
+    private transient volatile BoardSnapshot snapshot;
+    // getStatus() result; cleared by every move and set-up call
+    private transient GameStatus status;
 
     public ChessGame() {
+        this.board = ChessBoard.newBoard();
         this.board.resetBoard();
         this.teamColor = TeamColor.WHITE;
+        publishSnapshot();
+    }
+
+    /**
+     * Starts a game on a board that is already set up, with white to move and
+     * no castling rights, without building the initial position first. Nothing
+     * is published; the caller publishes once it has set the position up
+     */
+    ChessGame(ChessBoard board) {
+        this.board = board;
+        this.teamColor = TeamColor.WHITE;
+        this.castling = 0;
+    }
+
+    /**
+     * Creates an independent copy of another game's position, so an engine or
+     * analysis thread can make and unmake moves without touching the original
+     *
+     * @param other the game to copy
+     */
+    public ChessGame(ChessGame other) {
+        this.board = other.board.copy();
+        this.teamColor = other.teamColor;
+        this.gameOver = other.gameOver;
+        this.castling = other.castling;
+        this.enPassant = other.enPassant;
+        this.halfmoveClock = other.halfmoveClock;
+        this.history = other.history.copy();
+        // without a known start the moves cannot be taken back here, so the
+        // copy's log starts at its own position
+        this.log = other.log.hasStart() ? other.log.copy() : new MoveLog();
+        publishSnapshot();
     }
 
 
@@ -35,9 +125,222 @@ public class ChessGame {
      * @param team the team whose turn it is
      */
     public void setTeamTurn(TeamColor team) {
+        setUpTeamTurn(team);
+        publishSnapshot();
+    }
+
+    // setTeamTurn without publishing, for set-up code that publishes once at its end
+    void setUpTeamTurn(TeamColor team) {
         this.teamColor = team;
+        this.log.clear();
+        this.status = null;
+    }
+
+
+    /**
+     * @return a 64-bit Zobrist key of the position: the pieces on the board,
+     * the team to move, the castling rights and the en passant file. Equal
+     * positions have equal keys
+     */
+    public long positionKey() {
+        long key = board.zobristKey() ^ Zobrist.castling(castling) ^ Zobrist.enPassant(enPassant);
+        return (teamColor == TeamColor.BLACK) ? key ^ Zobrist.BLACK_TO_MOVE : key;
+    }
+
+    /**
+     * @return the castling rights still held, as a mask of
+     * {@link #WHITE_KINGSIDE}, {@link #WHITE_QUEENSIDE}, {@link #BLACK_KINGSIDE}
+     * and {@link #BLACK_QUEENSIDE}
+     */
+    public int getCastlingRights() {
+        return castling;
+    }
+
+    void setCastlingRights(int castling) {
+        this.castling = castling & 15;
+        this.log.clear();
+        this.status = null;
+    }
+
+    /**
+     * @return the square a pawn skipped over with a double step on the last
+     * move if an enemy pawn can capture onto it, otherwise -1
+     */
+    public int getEnPassantSquare() {
+        return enPassant;
+    }
+
+    void setEnPassantSquare(int square) {
+        this.enPassant = (square >= 0 && capturable(square)) ? square : -1;
+        this.log.clear();
+        this.status = null;
+    }
+
+    /**
+     * @return the number of moves by either team since the last capture or
+     * pawn move
+     */
+    public int getHalfmoveClock() {
+        return halfmoveClock;
+    }
+
+    void setHalfmoveClock(int halfmoveClock) {
+        this.halfmoveClock = halfmoveClock;
+        this.log.clear();
+        this.status = null;
+    }
+
+    PositionHistory getHistory() {
+        return history;
+    }
+
+    /**
+     * @return every move played since the game's starting position, with
+     * that position recorded
+     */
+    public MoveLog getMoveLog() {
+        if (!log.hasStart()) {
+            logStart();
+        }
+        return log;
+    }
+
+    /**
+     * Replaces the move log, e.g. with one read back from storage. The log's
+     * moves must lead from its starting position to this game's position
+     */
+    public void setMoveLog(MoveLog log) {
+        this.log = log;
+    }
+
+    /**
+     * Gives the position as it was after the last move made with
+     * {@link #makeMove(ChessMove)}. Any thread may call this while another
+     * is moving, and gets a consistent position without locking: moves are
+     * published only once they are complete, and the board changes made
+     * while testing moves are never published. Readers never build a
+     * snapshot themselves: the game publishes one when it is made, read by
+     * Gson, parsed or decoded, after each public set-up call and after each
+     * move
+     *
+     * @return the last published snapshot
+     */
+    public BoardSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Publishes the current position, e.g. after playing moves with
+     * {@link #makeMove(int)}, which publishes nothing so engine code pays
+     * nothing for snapshots
+     *
+     * @return the new snapshot
+     */
+    public BoardSnapshot publishSnapshot() {
+        BoardSnapshot current = BoardSnapshot.of(this);
+        snapshot = current;
+        return current;
+    }
+
+    void setSnapshot(BoardSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Rebuilds an earlier position of this game from its move log
+     *
+     * @param ply 0 for the starting position, up to the number of moves
+     *            played for the current one
+     * @return a new game with the position after that many moves
+     */
+    public ChessGame positionAt(int ply) {
+        return getMoveLog().positionAt(ply);
     }
 
+    // takes the logged moves back off the undo stack to record the position
+    // before them, then plays them again
+    private void logStart() {
+        int[] taken = new int[log.size()];
+        for (int i = taken.length - 1; i >= 0; i--) {
+            taken[i] = log.get(i);
+            unmakeMove();
+        }
+        log.setStart(GameCodec.encode(this));
+        for (int move : taken) {
+            makeMove(move);
+        }
+    }
+
+    /**
+     * @return true if the current position has occurred twice before with the
+     * same team to move
+     */
+    public boolean isThreefoldRepetition() {
+        return halfmoveClock >= 8 && history.repetitions(positionKey(), halfmoveClock) >= 2;
+    }
+
+    /**
+     * @return true if the current position has occurred before with the same
+     * team to move; a search can score this as a draw, since the side that
+     * repeated could repeat again
+     */
+    public boolean isRepetition() {
+        return halfmoveClock >= 4 && history.repetitions(positionKey(), halfmoveClock) >= 1;
+    }
+
+    /**
+     * @return true once 50 moves by each team have passed without a capture
+     * or pawn move
+     */
+    public boolean isFiftyMoveDraw() {
+        return halfmoveClock >= 100;
+    }
+
+    /**
+     * @return true if neither team has the material to force checkmate: lone
+     * kings, or a king and one bishop or knight against a lone king
+     */
+    public boolean isInsufficientMaterial() {
+        long occupied = board.occupied();
+        int count = Long.bitCount(occupied);
+        if (count > 3) {
+            return false;
+        }
+        if (count < 3) {
+            return true;
+        }
+        long minors = 0L;
+        for (TeamColor color : TeamColor.values()) {
+            minors |= board.pieces(color, ChessPiece.PieceType.BISHOP) | board.pieces(color, ChessPiece.PieceType.KNIGHT);
+        }
+        return minors != 0;
+    }
+
+    /**
+     * @return true if the game is drawn by the fifty-move rule, threefold
+     * repetition or insufficient material
+     */
+    public boolean isDraw() {
+        return isFiftyMoveDraw() || isThreefoldRepetition() || isInsufficientMaterial();
+    }
+
+    /**
+     * Resolves a king and queen, rook or pawn against a king from the endgame
+     * bitbases, with one probe
+     *
+     * @return the theoretical result for the team to move, or
+     * {@link Outcome#UNKNOWN} for any other material
+     */
+    public Outcome adjudicate() {
+        return Bitbases.probe(this);
+    }
+
+    private boolean capturable(int square) {
+        // the pawn that skipped over the square stands one row past it
+        TeamColor mover = (square >>> 3) == 2 ? TeamColor.WHITE : TeamColor.BLACK;
+        TeamColor enemy = (mover == TeamColor.WHITE) ? TeamColor.BLACK : TeamColor.WHITE;
+        return (board.pieces(enemy, ChessPiece.PieceType.PAWN) & Attacks.pawn(mover, square)) != 0;
+    }
 
     /**
      * Enum identifying the 2 possible teams in a chess game
@@ -53,6 +356,11 @@ public class ChessGame {
 
     public void fished(){
         gameOver = true;
+        publishSnapshot();
+    }
+
+    void setGameOver(boolean gameOver) {
+        this.gameOver = gameOver;
     }
 
 
@@ -60,22 +368,108 @@ public class ChessGame {
     public boolean validMove(ChessMove move){
         ChessPiece startPiece = board.getPiece(move.getStartPosition());
         ChessPiece endPiece = board.getPiece(move.getEndPosition());
-        ChessPosition start = move.getStartPosition();
         ChessPosition end = move.getEndPosition();
         if (!board.onBoard(end.getRow(),end.getColumn())){
             return false;
         }
         if (endPiece == null || (startPiece.getTeamColor() != endPiece.getTeamColor())){
-            board.addPiece(end, startPiece);
-            board.addPiece(start, null);
-            boolean valid = !isInCheck(board.getPiece(move.getEndPosition()).getTeamColor());
-            board.addPiece(start, startPiece);
-            board.addPiece(end, endPiece);
+            makeMove(Move.of(move));
+            boolean valid = !isInCheck(startPiece.getTeamColor());
+            unmakeMove();
             return valid;
         }
         return false;
     }
 
+    /**
+     * Plays a packed move without checking that it is legal, recording what is
+     * needed to take it back with {@link #unmakeMove()}. The turn passes to the
+     * other team. A king moving two squares castles and a pawn moving
+     * diagonally onto the en passant square captures en passant. Nothing is
+     * allocated once the undo stack has grown to the deepest line played, so
+     * engine code can call this in a tight loop; a game is not thread safe, so
+     * each thread should work on its own copy.
+     *
+     * @param move a move packed with {@link Move}
+     */
+    public void makeMove(int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        ChessPiece piece = board.getPiece(from);
+        ChessPiece target = board.getPiece(to);
+        log.push(move);
+        status = null;
+        if (plies == undo.length) {
+            undo = Arrays.copyOf(undo, plies * 2);
+        }
+        undo[plies++] = (move & 0x7FFFL) | ((long) teamColor.ordinal() << 15)
+                | ((long) (target == null ? 0 : target.index() + 1) << 16)
+                | ((long) castling << 20) | ((long) (enPassant + 1) << 24)
+                | ((long) halfmoveClock << 31);
+        history.push(positionKey());
+
+        ChessPiece.PieceType type = piece.getPieceType();
+        int epSquare = enPassant;
+        enPassant = -1;
+        halfmoveClock = (type == ChessPiece.PieceType.PAWN || target != null) ? 0 : halfmoveClock + 1;
+        castling &= CASTLING_MASK[from] & CASTLING_MASK[to];
+
+        ChessPiece.PieceType promotion = Move.promotion(move);
+        board.setPiece(to, promotion == null ? piece : ChessPiece.of(piece.getTeamColor(), promotion));
+        board.setPiece(from, null);
+        if (type == ChessPiece.PieceType.PAWN) {
+            if (to == epSquare) {
+                board.setPiece((from & ~7) | (to & 7), null);
+            } else if (Math.abs(to - from) == 16 && capturable((from + to) >>> 1)) {
+                enPassant = (from + to) >>> 1;
+            }
+        } else if (type == ChessPiece.PieceType.KING && Math.abs(to - from) == 2) {
+            int rookFrom = (to > from) ? from + 3 : from - 4;
+            board.setPiece((from + to) >>> 1, board.getPiece(rookFrom));
+            board.setPiece(rookFrom, null);
+        }
+        teamColor = (teamColor == TeamColor.WHITE) ? TeamColor.BLACK : TeamColor.WHITE;
+    }
+
+    /**
+     * Takes back the last move played with {@link #makeMove(int)}
+     *
+     * @throws IllegalStateException if there is no move to take back
+     */
+    public void unmakeMove() {
+        if (plies == 0) {
+            throw new IllegalStateException("no move to unmake");
+        }
+        long entry = undo[--plies];
+        int move = (int) (entry & 0x7FFF);
+        int from = Move.from(move);
+        int to = Move.to(move);
+        ChessPiece piece = board.getPiece(to);
+        if (Move.promotionCode(move) != 0) {
+            piece = ChessPiece.of(piece.getTeamColor(), ChessPiece.PieceType.PAWN);
+        }
+        int target = (int) ((entry >>> 16) & 15);
+        teamColor = ((entry >>> 15) & 1) == 0 ? TeamColor.WHITE : TeamColor.BLACK;
+        castling = (int) ((entry >>> 20) & 15);
+        enPassant = (int) ((entry >>> 24) & 127) - 1;
+        halfmoveClock = (int) (entry >>> 31);
+        history.pop();
+        log.pop();
+        status = null;
+
+        board.setPiece(from, piece);
+        board.setPiece(to, target == 0 ? null : ChessPiece.of(target - 1));
+        ChessPiece.PieceType type = piece.getPieceType();
+        if (type == ChessPiece.PieceType.PAWN && to == enPassant) {
+            TeamColor enemy = (teamColor == TeamColor.WHITE) ? TeamColor.BLACK : TeamColor.WHITE;
+            board.setPiece((from & ~7) | (to & 7), ChessPiece.of(enemy, ChessPiece.PieceType.PAWN));
+        } else if (type == ChessPiece.PieceType.KING && Math.abs(to - from) == 2) {
+            int rookFrom = (to > from) ? from + 3 : from - 4;
+            board.setPiece(rookFrom, board.getPiece((from + to) >>> 1));
+            board.setPiece((from + to) >>> 1, null);
+        }
+    }
+
     /**
      * Gets a valid moves for a piece at the given location
      *
@@ -84,18 +478,102 @@ public class ChessGame {
      * startPosition
      */
     public Collection<ChessMove> validMoves(ChessPosition startPosition) {
-        ChessPiece piece = board.getPiece(startPosition);
+        int from = ChessBoard.square(startPosition.getRow(), startPosition.getColumn());
+        ChessPiece piece = board.getPiece(from);
+        if (piece == null){
+            return null;
+        }
+        if (PIN_MOVES){
+            return legalMoves(startPosition);
+        }
+        TeamColor color = piece.getTeamColor();
+        int count = MoveGenerator.generate(board, from, moveBuffer, 0);
+        if (piece.getPieceType() == ChessPiece.PieceType.KING) {
+            count = MoveGenerator.castling(board, color, castling, moveBuffer, count);
+        } else if (piece.getPieceType() == ChessPiece.PieceType.PAWN && color == teamColor) {
+            count = MoveGenerator.enPassant(board, color, enPassant, 1L << from, moveBuffer, count);
+        }
+        count = removeIllegal(piece.getTeamColor(), moveBuffer, 0, count);
         Collection<ChessMove> valid = new HashSet<>();
-        if (piece != null){
-            Collection<ChessMove> all = piece.pieceMoves(board,startPosition);
-            for (ChessMove move : all){
-                if (validMove(move)){
-                    valid.add(move);
-                }
+        for (int i = 0; i < count; i++){
+            valid.add(Move.toChessMove(moveBuffer[i]));
+        }
+        return valid;
+    }
+
+    /**
+     * Gets the valid moves for a piece like {@link #validMoves(ChessPosition)},
+     * but from {@link LegalMoveGenerator}, which never makes a move to test it
+     *
+     * @param startPosition the piece to get valid moves for
+     * @return Set of valid moves for requested piece, or null if no piece at
+     * startPosition
+     */
+    public Collection<ChessMove> legalMoves(ChessPosition startPosition) {
+        int from = ChessBoard.square(startPosition.getRow(), startPosition.getColumn());
+        ChessPiece piece = board.getPiece(from);
+        if (piece == null){
+            return null;
+        }
+        int count = generateLegalMoves(piece.getTeamColor(), 1L << from, moveBuffer, 0);
+        Collection<ChessMove> valid = new HashSet<>();
+        for (int i = 0; i < count; i++){
+            valid.add(Move.toChessMove(moveBuffer[i]));
+        }
+        return valid;
+    }
+
+    /**
+     * Appends the legal moves of one team's pieces on the given squares using
+     * {@link LegalMoveGenerator}. Gives the same moves as
+     * {@link #legalMoves(TeamColor, int[], int)} without making any of them
+     *
+     * @param teamColor the team to generate moves for
+     * @param from      mask of the squares to generate from, -1 for all
+     * @param moves     buffer to write into, see {@link MoveGenerator#MAX_MOVES}
+     *                  and {@link MoveGenerator#MAX_BOARD_MOVES}
+     * @param count     number of moves already in the buffer
+     * @return the new number of moves in the buffer
+     */
+    public int generateLegalMoves(TeamColor teamColor, long from, int[] moves, int count) {
+        int ep = (teamColor == this.teamColor) ? enPassant : -1;
+        return LegalMoveGenerator.generate(board, teamColor, castling, ep, from, moves, count);
+    }
+
+    /**
+     * Appends every legal move of one team to a buffer without allocating
+     *
+     * @param teamColor the team to generate moves for
+     * @param moves     buffer to write into, see {@link MoveGenerator#MAX_MOVES}
+     *                  and {@link MoveGenerator#MAX_BOARD_MOVES}
+     * @param count     number of moves already in the buffer
+     * @return the new number of moves in the buffer
+     */
+    public int legalMoves(TeamColor teamColor, int[] moves, int count) {
+        int end = MoveGenerator.generate(board, teamColor, moves, count);
+        end = MoveGenerator.castling(board, teamColor, castling, moves, end);
+        if (teamColor == this.teamColor) {
+            end = MoveGenerator.enPassant(board, teamColor, enPassant, -1L, moves, end);
+        }
+        return removeIllegal(teamColor, moves, count, end);
+    }
+
+    /**
+     * Drops the moves in moves[start, end) that leave the mover's king in check
+     *
+     * @return the new end of the buffer
+     */
+    private int removeIllegal(TeamColor teamColor, int[] moves, int start, int end) {
+        int kept = start;
+        for (int i = start; i < end; i++){
+            makeMove(moves[i]);
+            boolean legal = !isInCheck(teamColor);
+            unmakeMove();
+            if (legal){
+                moves[kept++] = moves[i];
             }
-            return valid;
         }
-        return null;
+        return kept;
     }
 
 
@@ -107,39 +585,51 @@ public class ChessGame {
      */
 
     public void makeMove(ChessMove move) throws InvalidMoveException {
-        ChessPiece piece = board.getPiece(move.getStartPosition());
-        HashSet<ChessMove> moveSet = (HashSet<ChessMove>) validMoves(move.getStartPosition());
-        TeamColor color = piece.getTeamColor();
-        TeamColor next = (this.teamColor == TeamColor.WHITE) ? TeamColor.BLACK : TeamColor.WHITE;
-        boolean turn = getTeamTurn() == color;
-        boolean inMoveSet = moveSet.contains(move);
-        if (inMoveSet && turn){
-            if (move.getPromotionPiece() != null){
-                board.addPiece(move.getEndPosition(), new ChessPiece(color, move.getPromotionPiece()));
-            }
-            else{
-                board.addPiece(move.getEndPosition(),piece);
-            }
-            board.addPiece(move.getStartPosition(), null);
-            setTeamTurn(next);
+        ChessPosition start = move.getStartPosition();
+        ChessPosition end = move.getEndPosition();
+        if (!board.onBoard(start.getRow(), start.getColumn()) || !board.onBoard(end.getRow(), end.getColumn())){
+            throw new InvalidMoveException("move is off the board");
         }
-        else{
+        ChessPiece piece = board.getPiece(start);
+        if (piece == null){
+            throw new InvalidMoveException("no piece at " + start);
+        }
+        int packed = Move.of(move);
+        if (piece.getTeamColor() != getTeamTurn() || !isLegal(packed)){
             throw new InvalidMoveException(piece.toString());
         }
+        makeMove(packed);
+        publishSnapshot();
+    }
+
+    /**
+     * Tests a single move for the team to move: the piece's geometry and path,
+     * promotion rules, castling and en passant, and that the mover's king is
+     * not left attacked. Costs the same however many moves the piece has
+     *
+     * @param move a move packed with {@link Move}
+     * @return true if the move is legal in this position
+     */
+    public boolean isLegal(int move) {
+        ChessPiece piece = board.getPiece(Move.from(move));
+        if (piece == null || piece.getTeamColor() != teamColor
+                || !MoveGenerator.isPseudoLegal(board, castling, enPassant, move)) {
+            return false;
+        }
+        TeamColor mover = teamColor;
+        makeMove(move);
+        boolean legal = !isInCheck(mover);
+        unmakeMove();
+        return legal;
     }
 
 
     public ChessPosition getKingPosition(TeamColor teamColor){
-        for (int r = 1; r <= 8; r++) {
-            for (int c = 1; c <= 8; c++) {
-                ChessPosition pos = new ChessPosition(r,c);
-                ChessPiece temp = board.getPiece(pos);
-                if (temp != null && temp.getPieceType().equals(ChessPiece.PieceType.KING) && temp.getTeamColor().equals(teamColor)){
-                    return pos;
-                }
-            }
+        int sq = board.kingSquare(teamColor);
+        if (sq < 0){
+            return null;
         }
-        return null;
+        return ChessPosition.of(sq);
     }
 
 
@@ -150,39 +640,42 @@ public class ChessGame {
      * @return True if the specified team is in check
      */
     public boolean isInCheck(TeamColor teamColor) {
-        ChessPosition kingPosition = getKingPosition(teamColor);
-        for (int r = 1; r <= 8; r++){
-            for (int c = 1; c <= 8; c++){
-                ChessPosition pos = new ChessPosition(r,c);
-                ChessPiece piece = board.getPiece(pos);
-                if (piece != null && piece.getTeamColor() != teamColor){
-                    Collection<ChessMove> moves = piece.pieceMoves(board, pos);
-                    for (ChessMove move : moves){
-                        if (move.getEndPosition().equals(kingPosition)){
-                            return true;
-                        }
-                    }
-                }
-            }
+        int king = board.kingSquare(teamColor);
+        if (king < 0){
+            return false;
         }
-        return false;
+        return board.isAttacked(king, (teamColor == TeamColor.WHITE) ? TeamColor.BLACK : TeamColor.WHITE);
     }
 
+    /**
+     * @return true if the given team has no legal move
+     */
     public boolean movesCheck(TeamColor teamColor){
-        for (int row = 1; row <= 8; row++) {
-            for (int col = 1; col <= 8; col++) {
-                ChessPosition pos = new ChessPosition(row,col);
-                ChessPiece temp = board.getPiece(pos);
-                if (temp != null && temp.getTeamColor().equals(teamColor)) {
-                    int valid = validMoves(pos).size();
-                    if (valid > 0){
-                        return false;
-                    }
-                }
-            }
+        int count = PIN_MOVES ? generateLegalMoves(teamColor, -1L, moveBuffer, 0) : legalMoves(teamColor, moveBuffer, 0);
+        return count == 0;
+    }
+
+    /**
+     * Evaluates the position for the team to move in one pass: one check test,
+     * one legal move generation and the draw rules. The result is kept until
+     * a move is made or unmade or the position is set up again, so asking
+     * twice costs nothing
+     *
+     * @return the status of the game for the team whose turn it is
+     */
+    public GameStatus getStatus() {
+        if (status != null) {
+            return status;
+        }
+        boolean check = isInCheck(teamColor);
+        if (movesCheck(teamColor)) {
+            status = check ? GameStatus.CHECKMATE : GameStatus.STALEMATE;
+        } else if (isDraw()) {
+            status = GameStatus.DRAW;
+        } else {
+            status = check ? GameStatus.CHECK : GameStatus.NORMAL;
         }
-        fished();
-        return true;
+        return status;
     }
 
 
@@ -193,6 +686,9 @@ public class ChessGame {
      * @return True if the specified team is in checkmate
      */
     public boolean isInCheckmate(TeamColor teamColor) {
+        if (teamColor == this.teamColor) {
+            return getStatus() == GameStatus.CHECKMATE;
+        }
         if (isInCheck(teamColor)) {
             return movesCheck(teamColor);
         }
@@ -208,6 +704,9 @@ public class ChessGame {
      * @return True if the specified team is in stalemate, otherwise false
      */
     public boolean isInStalemate(TeamColor teamColor) {
+        if (teamColor == this.teamColor) {
+            return getStatus() == GameStatus.STALEMATE;
+        }
         if (!isInCheck(teamColor)){
             return movesCheck(teamColor);
         }
@@ -216,15 +715,60 @@ public class ChessGame {
 
 
     /**
-     * Sets this game's chessboard with a given board
+     * Sets this game's chessboard with a given board. The board starts a new
+     * position, so en passant and the move history are cleared, and each side
+     * may castle with every rook still on its home square beside its king's
      *
      * @param board the new board to use
      */
     public void setBoard(ChessBoard board) {
+        setUpBoard(board);
+        publishSnapshot();
+    }
+
+    // setBoard without publishing, for set-up code that publishes once at its end
+    void setUpBoard(ChessBoard board) {
         this.board = board;
+        this.castling = homeCastlingRights(board);
+        this.enPassant = -1;
+        this.halfmoveClock = 0;
+        this.history.clear();
+        this.log.clear();
+        this.plies = 0;
+        this.status = null;
     }
 
 
+    /**
+     * Drops the castling rights that the board's pieces no longer allow, e.g.
+     * for a game read back from a format that did not keep them
+     */
+    public void dropLostCastlingRights() {
+        this.castling &= homeCastlingRights(board);
+        this.log.clear();
+        this.status = null;
+        publishSnapshot();
+    }
+
+    // the rights of each king on its home square with a rook on a corner
+    private static int homeCastlingRights(ChessBoard board) {
+        int rights = 0;
+        if (isOn(board, 4, TeamColor.WHITE, ChessPiece.PieceType.KING)) {
+            rights |= isOn(board, 7, TeamColor.WHITE, ChessPiece.PieceType.ROOK) ? WHITE_KINGSIDE : 0;
+            rights |= isOn(board, 0, TeamColor.WHITE, ChessPiece.PieceType.ROOK) ? WHITE_QUEENSIDE : 0;
+        }
+        if (isOn(board, 60, TeamColor.BLACK, ChessPiece.PieceType.KING)) {
+            rights |= isOn(board, 63, TeamColor.BLACK, ChessPiece.PieceType.ROOK) ? BLACK_KINGSIDE : 0;
+            rights |= isOn(board, 56, TeamColor.BLACK, ChessPiece.PieceType.ROOK) ? BLACK_QUEENSIDE : 0;
+        }
+        return rights;
+    }
+
+    private static boolean isOn(ChessBoard board, int square, TeamColor color, ChessPiece.PieceType type) {
+        ChessPiece piece = board.getPiece(square);
+        return piece != null && piece.getTeamColor() == color && piece.getPieceType() == type;
+    }
+
     /**
      * Gets the current chessboard
      *
@@ -233,4 +777,28 @@ public class ChessGame {
     public ChessBoard getBoard() {
         return board;
     }
+
+    // Gson fills the fields in after the no-arg constructor has published the
+    // starting position, so a game it reads is published again once complete
+    static class Adapter implements TypeAdapterFactory {
+        @Override
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            TypeAdapter<T> fields = gson.getDelegateAdapter(this, type);
+            return new TypeAdapter<>() {
+                @Override
+                public void write(JsonWriter out, T value) throws IOException {
+                    fields.write(out, value);
+                }
+
+                @Override
+                public T read(JsonReader in) throws IOException {
+                    T value = fields.read(in);
+                    if (value instanceof ChessGame game) {
+                        game.publishSnapshot();
+                    }
+                    return value;
+                }
+            };
+        }
+    }
 }
@@ -12,11 +12,13 @@ public class ChessMove {
     ChessPosition start;
     ChessPosition end;
     ChessPiece.PieceType promotion;
+    private transient int hash;
 
     public ChessMove(ChessPosition startPosition, ChessPosition endPosition, ChessPiece.PieceType promotionPiece) {
         this.start = startPosition;
         this.end = endPosition;
         this.promotion = promotionPiece;
+        this.hash = computeHash();
     }
 
     /**
@@ -39,7 +41,17 @@ public class ChessMove {
 
     @Override
     public int hashCode() {
-        return Objects.hash(start, end, promotion);
+        int h = hash;
+        if (h == 0) {
+            // moves read by Gson skip the constructor
+            h = hash = computeHash();
+        }
+        return h;
+    }
+
+    private int computeHash() {
+        int h = 31 * Objects.hashCode(start) + Objects.hashCode(end);
+        return 31 * h + (promotion == null ? 0 : promotion.ordinal() + 1) + 1;
     }
 
 
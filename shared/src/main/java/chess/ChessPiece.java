@@ -3,7 +3,7 @@ package chess;
 import chess.moves.*;
 
 import java.util.Collection;
-import java.util.Objects;
+import java.util.HashSet;
 
 /**
  * Represents a single chess piece
@@ -12,12 +12,39 @@ import java.util.Objects;
  * signature of the existing methods.
  */
 public class ChessPiece {
+    private static final ChessPiece[] PIECES = new ChessPiece[12];
+
+    static {
+        for (ChessGame.TeamColor color : ChessGame.TeamColor.values()) {
+            for (PieceType type : PieceType.values()) {
+                PIECES[color.ordinal() * 6 + type.ordinal()] = new ChessPiece(color, type);
+            }
+        }
+    }
+
     ChessGame.TeamColor color;
     PieceType type;
+    private transient int hash;
 
     public ChessPiece(ChessGame.TeamColor pieceColor, ChessPiece.PieceType type) {
         this.color = pieceColor;
         this.type = type;
+        this.hash = computeHash();
+    }
+
+    /**
+     * @return the shared instance for this color and type
+     */
+    public static ChessPiece of(ChessGame.TeamColor color, PieceType type) {
+        return PIECES[color.ordinal() * 6 + type.ordinal()];
+    }
+
+    /**
+     * @param index a 0-11 index as returned by {@link #index()}
+     * @return the shared instance for that index
+     */
+    public static ChessPiece of(int index) {
+        return PIECES[index];
     }
 
     /**
@@ -42,6 +69,11 @@ public class ChessPiece {
      */
     public PieceType getPieceType() {return type;}
 
+    /**
+     * @return a 0-11 index for this color and type, white pieces first
+     */
+    public int index() {return color.ordinal() * 6 + type.ordinal();}
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -52,7 +84,16 @@ public class ChessPiece {
 
     @Override
     public int hashCode() {
-        return Objects.hash(color, type);
+        int h = hash;
+        if (h == 0) {
+            // pieces read by Gson skip the constructor
+            h = hash = computeHash();
+        }
+        return h;
+    }
+
+    private int computeHash() {
+        return 31 * (color == null ? 2 : color.ordinal()) + (type == null ? 6 : type.ordinal()) + 1;
     }
 
     @Override
@@ -73,6 +114,9 @@ public class ChessPiece {
 
 
     public Collection<ChessMove> pieceMoves(ChessBoard board, ChessPosition myPosition) {
+        if (board instanceof BitBoard){
+            return tableMoves(board, myPosition);
+        }
         if (board.getPiece(myPosition).getPieceType() == PieceType.PAWN){
             PawnMove instance = new PawnMove();
             return instance.pieceMoves(board, myPosition);
@@ -99,4 +143,18 @@ public class ChessPiece {
         }
         return null;
     }
+
+    /**
+     * Generates the same moves as the per-piece classes in {@link chess.moves},
+     * but through the table-driven {@link MoveGenerator}
+     */
+    private Collection<ChessMove> tableMoves(ChessBoard board, ChessPosition myPosition) {
+        int[] buffer = new int[MoveGenerator.MAX_MOVES];
+        int count = MoveGenerator.generate(board, ChessBoard.square(myPosition.getRow(), myPosition.getColumn()), buffer, 0);
+        HashSet<ChessMove> moves = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            moves.add(Move.toChessMove(buffer[i]));
+        }
+        return moves;
+    }
 }
@@ -1,7 +1,5 @@
 package chess;
 
-import java.util.Objects;
-
 /**
  * Represents a single square position on a chess board
  * <p>
@@ -9,12 +7,43 @@ import java.util.Objects;
  * signature of the existing methods.
  */
 public class ChessPosition {
+    private static final ChessPosition[] SQUARES = new ChessPosition[64];
+
+    static {
+        for (int sq = 0; sq < 64; sq++) {
+            SQUARES[sq] = new ChessPosition((sq >>> 3) + 1, (sq & 7) + 1);
+        }
+    }
+
     int row;
     int col;
+    private transient int hash;
 
     public ChessPosition(int row, int col) {
         this.row = row;
         this.col = col;
+        this.hash = computeHash();
+    }
+
+    /**
+     * Returns the shared instance for an on-board position, or a new one for
+     * positions off the board
+     *
+     * @return the position at this row and column
+     */
+    public static ChessPosition of(int row, int col) {
+        if (row >= 1 && row <= 8 && col >= 1 && col <= 8) {
+            return SQUARES[(row - 1) * 8 + col - 1];
+        }
+        return new ChessPosition(row, col);
+    }
+
+    /**
+     * @param square the 0-63 square index, a1 = 0 and h8 = 63
+     * @return the shared instance for that square
+     */
+    public static ChessPosition of(int square) {
+        return SQUARES[square];
     }
 
     /**
@@ -33,7 +62,16 @@ public class ChessPosition {
 
     @Override
     public int hashCode() {
-        return Objects.hash(row, col);
+        int h = hash;
+        if (h == 0) {
+            // positions read by Gson skip the constructor
+            h = hash = computeHash();
+        }
+        return h;
+    }
+
+    private int computeHash() {
+        return 31 * row + col + 1;
     }
 
 
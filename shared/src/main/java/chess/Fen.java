@@ -0,0 +1,152 @@
+package chess;
+
+import java.util.Map;
+
+/**
+ * Reads and writes positions in Forsyth-Edwards Notation, e.g.
+ * {@code rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1}.
+ * The fullmove number is not tracked by {@link ChessGame}; it is accepted and
+ * written back as 1.
+ */
+public final class Fen {
+    public static final String START = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    // in the order of the ChessGame castling right bits
+    private static final String CASTLING = "KQkq";
+
+    private static final Map<Character, ChessPiece.PieceType> TYPES = Map.of(
+            'k', ChessPiece.PieceType.KING,
+            'q', ChessPiece.PieceType.QUEEN,
+            'b', ChessPiece.PieceType.BISHOP,
+            'n', ChessPiece.PieceType.KNIGHT,
+            'r', ChessPiece.PieceType.ROOK,
+            'p', ChessPiece.PieceType.PAWN);
+
+    private Fen() {
+
+    }
+
+    /**
+     * @param fen a FEN string
+     * @return a new game set up in that position
+     * @throws IllegalArgumentException if the string is not valid FEN
+     */
+    public static ChessGame parse(String fen) {
+        String[] fields = fen.trim().split("\\s+");
+        ChessBoard board = ChessBoard.newBoard();
+        int row = 8;
+        int col = 1;
+        for (char c : fields[0].toCharArray()) {
+            if (c == '/') {
+                // each rank must fill exactly its 8 squares
+                if (col != 9) {
+                    throw new IllegalArgumentException("bad FEN placement: " + fields[0]);
+                }
+                row--;
+                col = 1;
+            } else if (c >= '1' && c <= '8') {
+                col += c - '0';
+            } else {
+                ChessPiece.PieceType type = TYPES.get(Character.toLowerCase(c));
+                if (type == null || row < 1 || col > 8) {
+                    throw new IllegalArgumentException("bad FEN placement: " + fields[0]);
+                }
+                ChessGame.TeamColor color = Character.isUpperCase(c) ? ChessGame.TeamColor.WHITE : ChessGame.TeamColor.BLACK;
+                board.setPiece(ChessBoard.square(row, col), ChessPiece.of(color, type));
+                col++;
+            }
+        }
+        if (row != 1 || col != 9) {
+            throw new IllegalArgumentException("bad FEN placement: " + fields[0]);
+        }
+        ChessGame game = new ChessGame(board);
+        game.setUpTeamTurn(fields.length > 1 && fields[1].equals("b") ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE);
+        if (fields.length > 2) {
+            game.setCastlingRights(castling(fields[2]));
+        }
+        if (fields.length > 3 && !fields[3].equals("-")) {
+            game.setEnPassantSquare(square(fields[3]));
+        }
+        if (fields.length > 4) {
+            try {
+                game.setHalfmoveClock(Integer.parseInt(fields[4]));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("bad FEN halfmove clock: " + fields[4]);
+            }
+        }
+        game.publishSnapshot();
+        return game;
+    }
+
+    /**
+     * @return the FEN string for a game's position
+     */
+    public static String format(ChessGame game) {
+        StringBuilder out = new StringBuilder();
+        for (int row = 8; row >= 1; row--) {
+            int empty = 0;
+            for (int col = 1; col <= 8; col++) {
+                ChessPiece piece = game.getBoard().getPiece(ChessBoard.square(row, col));
+                if (piece == null) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    out.append(empty);
+                    empty = 0;
+                }
+                char c = switch (piece.getPieceType()) {
+                    case KING -> 'k';
+                    case QUEEN -> 'q';
+                    case BISHOP -> 'b';
+                    case KNIGHT -> 'n';
+                    case ROOK -> 'r';
+                    case PAWN -> 'p';
+                };
+                out.append(piece.getTeamColor() == ChessGame.TeamColor.WHITE ? Character.toUpperCase(c) : c);
+            }
+            if (empty > 0) {
+                out.append(empty);
+            }
+            if (row > 1) {
+                out.append('/');
+            }
+        }
+        out.append(game.getTeamTurn() == ChessGame.TeamColor.WHITE ? " w " : " b ");
+        int rights = game.getCastlingRights();
+        if (rights == 0) {
+            out.append('-');
+        }
+        for (int i = 0; i < 4; i++) {
+            if ((rights & (1 << i)) != 0) {
+                out.append(CASTLING.charAt(i));
+            }
+        }
+        int ep = game.getEnPassantSquare();
+        out.append(' ').append(ep < 0 ? "-" : "" + (char) ('a' + (ep & 7)) + (char) ('1' + (ep >>> 3)));
+        out.append(' ').append(game.getHalfmoveClock()).append(" 1");
+        return out.toString();
+    }
+
+    private static int castling(String field) {
+        int rights = 0;
+        if (!field.equals("-")) {
+            for (char c : field.toCharArray()) {
+                int i = CASTLING.indexOf(c);
+                if (i < 0) {
+                    throw new IllegalArgumentException("bad FEN castling rights: " + field);
+                }
+                rights |= 1 << i;
+            }
+        }
+        return rights;
+    }
+
+    private static int square(String field) {
+        if (field.length() != 2 || field.charAt(0) < 'a' || field.charAt(0) > 'h'
+                || (field.charAt(1) != '3' && field.charAt(1) != '6')) {
+            throw new IllegalArgumentException("bad FEN en passant square: " + field);
+        }
+        return ChessBoard.square(field.charAt(1) - '0', field.charAt(0) - 'a' + 1);
+    }
+}
@@ -0,0 +1,140 @@
+package chess;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * A compact binary form of a {@link ChessGame} for storage. Version 1 is:
+ * <ul>
+ * <li>one byte, the version</li>
+ * <li>32 bytes of squares, a1 first, two to a byte with the lower square in
+ * the low four bits: 0 for empty, otherwise the piece's
+ * {@link ChessPiece#index()} + 1</li>
+ * <li>one flags byte: black to move in bit 0, game over in bit 1 and the
+ * castling rights in bits 4-7</li>
+ * <li>one byte, the en passant square + 1</li>
+ * <li>the halfmove clock as an unsigned varint</li>
+ * <li>the number of history keys as an unsigned varint, then the keys, eight
+ * bytes each, oldest first</li>
+ * </ul>
+ * Only the keys since the last capture or pawn move are kept, since no earlier
+ * position can repeat, so a game just after a pawn move takes 37 bytes.
+ */
+public final class GameCodec {
+    public static final int VERSION = 1;
+
+    private static final int SQUARES = 32;
+    private static final int BLACK_TO_MOVE = 1;
+    private static final int GAME_OVER = 2;
+
+    private GameCodec() {
+
+    }
+
+    public static byte[] encode(ChessGame game) {
+        PositionHistory history = game.getHistory();
+        int keys = Math.min(history.size(), game.getHalfmoveClock());
+        ByteArrayOutputStream out = new ByteArrayOutputStream(40 + 8 * keys);
+        out.write(VERSION);
+        ChessBoard board = game.getBoard();
+        for (int square = 0; square < 64; square += 2) {
+            out.write(nibble(board.getPiece(square)) | (nibble(board.getPiece(square + 1)) << 4));
+        }
+        int flags = (game.getTeamTurn() == ChessGame.TeamColor.BLACK ? BLACK_TO_MOVE : 0)
+                | (game.gameState() ? GAME_OVER : 0) | (game.getCastlingRights() << 4);
+        out.write(flags);
+        out.write(game.getEnPassantSquare() + 1);
+        writeVarint(out, game.getHalfmoveClock());
+        writeVarint(out, keys);
+        for (int i = history.size() - keys; i < history.size(); i++) {
+            long key = history.get(i);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                out.write((int) (key >>> shift));
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the bytes are not an encoded game of
+     *                                  a known version
+     */
+    public static ChessGame decode(byte[] bytes) {
+        ChessGame game = new ChessGame(ChessBoard.newBoard());
+        decode(bytes, game);
+        return game;
+    }
+
+    /**
+     * Loads an encoded game into an existing one, reusing its board, so a
+     * thread reading many games need not allocate a game for each. The move
+     * log and undo stack start empty
+     *
+     * @throws IllegalArgumentException if the bytes are not an encoded game
+     *                                  of a known version; the game is then
+     *                                  left in an unspecified position
+     */
+    public static void decode(byte[] bytes, ChessGame game) {
+        if (bytes.length < SQUARES + 5 || bytes[0] != VERSION) {
+            throw new IllegalArgumentException("not an encoded game");
+        }
+        ChessBoard board = game.getBoard();
+        for (int square = 0; square < 64; square++) {
+            int code = (bytes[1 + square / 2] >>> ((square & 1) * 4)) & 15;
+            if (code > 12) {
+                throw new IllegalArgumentException("bad piece code " + code);
+            }
+            board.setPiece(square, code == 0 ? null : ChessPiece.of(code - 1));
+        }
+        game.setUpBoard(board);
+        int flags = bytes[SQUARES + 1] & 0xFF;
+        game.setUpTeamTurn((flags & BLACK_TO_MOVE) != 0 ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE);
+        game.setCastlingRights(flags >>> 4);
+        int enPassant = (bytes[SQUARES + 2] & 0xFF) - 1;
+        if (enPassant >= 0) {
+            game.setEnPassantSquare(enPassant);
+        }
+        int[] position = {SQUARES + 3};
+        game.setHalfmoveClock(readVarint(bytes, position));
+        int keys = readVarint(bytes, position);
+        if (position[0] + 8L * keys != bytes.length) {
+            throw new IllegalArgumentException("bad history length " + keys);
+        }
+        PositionHistory history = game.getHistory();
+        for (int i = 0; i < keys; i++) {
+            long key = 0;
+            for (int b = 0; b < 8; b++) {
+                key = (key << 8) | (bytes[position[0]++] & 0xFF);
+            }
+            history.push(key);
+        }
+        game.setGameOver((flags & GAME_OVER) != 0);
+        game.publishSnapshot();
+    }
+
+    private static int nibble(ChessPiece piece) {
+        return piece == null ? 0 : piece.index() + 1;
+    }
+
+    static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    static int readVarint(byte[] bytes, int[] position) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            if (position[0] >= bytes.length) {
+                throw new IllegalArgumentException("truncated game");
+            }
+            int b = bytes[position[0]++];
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("bad varint");
+    }
+}
@@ -0,0 +1,20 @@
+package chess;
+
+/**
+ * The state of a game for the team to move, as found by
+ * {@link ChessGame#getStatus()}
+ */
+public enum GameStatus {
+    NORMAL,
+    CHECK,
+    CHECKMATE,
+    STALEMATE,
+    DRAW;
+
+    /**
+     * @return true if no more moves can be played
+     */
+    public boolean isOver() {
+        return this == CHECKMATE || this == STALEMATE || this == DRAW;
+    }
+}
@@ -0,0 +1,231 @@
+package chess;
+
+import chess.moves.Move;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+/**
+ * Every move of a game since its starting position, packed into a
+ * {@code short[]} two bytes a move, so any earlier position can be rebuilt.
+ * The starting position is kept as {@link GameCodec} bytes, and so is the
+ * position every {@link #INTERVAL} plies. Rebuilding a ply decodes the
+ * checkpoint at or before it and replays fewer than {@link #INTERVAL} moves.
+ * <p>
+ * Neither is taken as moves are played, so logging costs engine code one
+ * array store per move. The game records its starting position the first
+ * time its log is asked for, by taking the logged moves back and playing
+ * them again, and checkpoints are made the first time a seek needs them.
+ * Changing a game's position other than by playing moves (setting a new
+ * board or turn) starts a new log.
+ */
+public final class MoveLog {
+    public static final int INTERVAL = 16;
+
+    private short[] moves;
+    private int size;
+    // checkpoints[i] is the position at ply i * INTERVAL; the first
+    // `checkpointed` of them are valid, and checkpoints[0] is the start
+    private byte[][] checkpoints;
+    private int checkpointed;
+
+    public MoveLog() {
+        this(new short[64], 0, new byte[4][], 0);
+    }
+
+    private MoveLog(short[] moves, int size, byte[][] checkpoints, int checkpointed) {
+        this.moves = moves;
+        this.size = size;
+        this.checkpoints = checkpoints;
+        this.checkpointed = checkpointed;
+    }
+
+    public MoveLog copy() {
+        return new MoveLog(moves.clone(), size, checkpoints.clone(), checkpointed);
+    }
+
+    void push(int move) {
+        if (size == moves.length) {
+            moves = Arrays.copyOf(moves, size * 2);
+        }
+        moves[size++] = (short) (move & 0x7FFF);
+    }
+
+    void pop() {
+        if (size == 0) {
+            // a move from before the start was taken back, so the start is gone
+            checkpointed = 0;
+            return;
+        }
+        size--;
+        checkpointed = Math.min(checkpointed, size / INTERVAL + 1);
+    }
+
+    /**
+     * @return true if the starting position is known
+     */
+    boolean hasStart() {
+        return checkpointed > 0;
+    }
+
+    /**
+     * @param start the {@link GameCodec} bytes of the position before the
+     *              first logged move
+     */
+    void setStart(byte[] start) {
+        checkpoints[0] = start;
+        checkpointed = 1;
+    }
+
+    void clear() {
+        size = 0;
+        checkpointed = 0;
+    }
+
+    /**
+     * @return the number of moves played
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the move played at a ply, 0 being the first, packed with
+     * {@link Move}
+     */
+    public int get(int ply) {
+        if (ply < 0 || ply >= size) {
+            throw new IndexOutOfBoundsException("ply " + ply + " of " + size);
+        }
+        return moves[ply];
+    }
+
+    /**
+     * @return the moves in coordinate notation, e.g. {@code e2e4 e7e5}
+     */
+    @Override
+    public String toString() {
+        StringBuilder names = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            names.append(i == 0 ? "" : " ").append(Move.name(moves[i]));
+        }
+        return names.toString();
+    }
+
+    /**
+     * Rebuilds the game as it was before the move at a ply was played
+     *
+     * @param ply 0 for the starting position, up to {@link #size()} for the
+     *            current one
+     * @return a new game with that position and the history leading to it,
+     * whose own log holds the moves up to the ply
+     * @throws IllegalStateException if the starting position is unknown
+     */
+    public ChessGame positionAt(int ply) {
+        if (ply < 0 || ply > size) {
+            throw new IndexOutOfBoundsException("ply " + ply + " of " + size);
+        }
+        if (checkpointed == 0) {
+            throw new IllegalStateException("no starting position logged");
+        }
+        int checkpoint = ply / INTERVAL;
+        if (checkpoint >= checkpointed) {
+            fillCheckpoints(checkpoint);
+        }
+        ChessGame game = GameCodec.decode(checkpoints[checkpoint]);
+        game.setMoveLog(new MoveLog(Arrays.copyOf(moves, Math.max(ply, 1)), checkpoint * INTERVAL,
+                Arrays.copyOf(checkpoints, checkpoint + 1), checkpoint + 1));
+        for (int i = checkpoint * INTERVAL; i < ply; i++) {
+            game.makeMove(moves[i]);
+        }
+        return game;
+    }
+
+    /**
+     * Replays the log from its starting position, checking each move before
+     * playing it, e.g. to audit a stored game
+     *
+     * @param game reused for the replay; it ends at the position before the
+     *             first illegal move, or at the last position
+     * @return the ply of the first illegal move, or -1 if every move is legal
+     * @throws IllegalStateException if the starting position is unknown
+     */
+    public int replay(ChessGame game) {
+        if (checkpointed == 0) {
+            throw new IllegalStateException("no starting position logged");
+        }
+        GameCodec.decode(checkpoints[0], game);
+        for (int ply = 0; ply < size; ply++) {
+            if (!game.isLegal(moves[ply])) {
+                return ply;
+            }
+            game.makeMove(moves[ply]);
+        }
+        return -1;
+    }
+
+    // replays from the last valid checkpoint, keeping the positions on the way
+    private void fillCheckpoints(int last) {
+        if (last >= checkpoints.length) {
+            checkpoints = Arrays.copyOf(checkpoints, Math.max(last + 1, checkpoints.length * 2));
+        }
+        ChessGame game = GameCodec.decode(checkpoints[checkpointed - 1]);
+        for (int i = (checkpointed - 1) * INTERVAL; checkpointed <= last; i++) {
+            game.makeMove(moves[i]);
+            if ((i + 1) % INTERVAL == 0) {
+                checkpoints[checkpointed++] = GameCodec.encode(game);
+            }
+        }
+    }
+
+    /**
+     * Writes the log for storage: the starting position's {@link GameCodec}
+     * bytes behind their length as an unsigned varint, then the number of
+     * moves as an unsigned varint and the moves, two bytes each, high byte
+     * first. Checkpoints are not written; they are rebuilt when needed. An
+     * empty log is just two zero bytes.
+     */
+    public byte[] encode() {
+        byte[] start = checkpointed == 0 ? new byte[0] : checkpoints[0];
+        ByteArrayOutputStream out = new ByteArrayOutputStream(start.length + 2 * size + 8);
+        GameCodec.writeVarint(out, start.length);
+        out.write(start, 0, start.length);
+        GameCodec.writeVarint(out, size);
+        for (int i = 0; i < size; i++) {
+            out.write(moves[i] >>> 8);
+            out.write(moves[i]);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the bytes are not an encoded log
+     */
+    public static MoveLog decode(byte[] bytes) {
+        int[] position = {0};
+        int length = GameCodec.readVarint(bytes, position);
+        if (length > bytes.length - position[0]) {
+            throw new IllegalArgumentException("truncated move log");
+        }
+        MoveLog log = new MoveLog();
+        if (length > 0) {
+            byte[] start = Arrays.copyOfRange(bytes, position[0], position[0] + length);
+            // fails early on a bad starting position
+            GameCodec.decode(start);
+            log.checkpoints[0] = start;
+            log.checkpointed = 1;
+            position[0] += length;
+        }
+        int size = GameCodec.readVarint(bytes, position);
+        if (position[0] + 2L * size != bytes.length || (size > 0 && length == 0)) {
+            throw new IllegalArgumentException("bad move count " + size);
+        }
+        log.moves = new short[Math.max(size, 64)];
+        for (int i = 0; i < size; i++) {
+            log.moves[i] = (short) (((bytes[position[0]] & 0x7F) << 8) | (bytes[position[0] + 1] & 0xFF));
+            position[0] += 2;
+        }
+        log.size = size;
+        return log;
+    }
+}
@@ -0,0 +1,113 @@
+package chess;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * The Zobrist keys of the positions a game has passed through, oldest first,
+ * kept as a stack so unmaking a move just pops it. Only positions since the
+ * last capture or pawn move can repeat, and the fifty-move rule ends the game
+ * after 100 of those, so at most the last {@link #WINDOW} keys are written
+ * out when a game is serialized.
+ */
+@JsonAdapter(PositionHistory.Adapter.class)
+public final class PositionHistory {
+    public static final int WINDOW = 101;
+
+    private long[] keys;
+    private int size;
+
+    public PositionHistory() {
+        this(new long[64], 0);
+    }
+
+    private PositionHistory(long[] keys, int size) {
+        this.keys = keys;
+        this.size = size;
+    }
+
+    public PositionHistory copy() {
+        return new PositionHistory(keys.clone(), size);
+    }
+
+    public void push(long key) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+        }
+        keys[size++] = key;
+    }
+
+    public void pop() {
+        size--;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the key at an index, 0 being the oldest kept
+     */
+    public long get(int index) {
+        return keys[index];
+    }
+
+    /**
+     * Counts earlier occurrences of a position with the same team to move,
+     * looking back no further than the last irreversible move
+     *
+     * @param key        the current position's key
+     * @param reversible number of plies since the last capture or pawn move
+     * @return how many times the position occurred before
+     */
+    public int repetitions(long key, int reversible) {
+        int stop = Math.max(0, size - reversible);
+        int count = 0;
+        for (int i = size - 2; i >= stop; i -= 2) {
+            if (keys[i] == key) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    static class Adapter extends TypeAdapter<PositionHistory> {
+        @Override
+        public void write(JsonWriter out, PositionHistory history) throws IOException {
+            if (history == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginArray();
+            for (int i = Math.max(0, history.size - WINDOW); i < history.size; i++) {
+                out.value(history.keys[i]);
+            }
+            out.endArray();
+        }
+
+        @Override
+        public PositionHistory read(JsonReader in) throws IOException {
+            PositionHistory history = new PositionHistory();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return history;
+            }
+            in.beginArray();
+            while (in.hasNext()) {
+                history.push(in.nextLong());
+            }
+            in.endArray();
+            return history;
+        }
+    }
+}
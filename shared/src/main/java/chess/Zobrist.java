@@ -0,0 +1,67 @@
+package chess;
+
+/**
+ * Random 64-bit keys for Zobrist hashing of positions. A position's key is the
+ * XOR of one key per (piece, square) pair on the board, plus {@link #BLACK_TO_MOVE}
+ * when it is black's turn and the keys for the castling rights and en passant
+ * file, so moving a piece updates the key with two XORs.
+ * The keys come from a fixed seed and are the same in every JVM, so keys can be
+ * stored and compared across processes.
+ */
+public final class Zobrist {
+    private static final long[][] PIECES = new long[12][64];
+    private static final long[] CASTLING = new long[16];
+    private static final long[] EN_PASSANT = new long[8];
+    public static final long BLACK_TO_MOVE;
+
+    static {
+        long[] state = {0x3C6EF372FE94F82BL};
+        for (long[] squares : PIECES) {
+            for (int sq = 0; sq < 64; sq++) {
+                squares[sq] = next(state);
+            }
+        }
+        BLACK_TO_MOVE = next(state);
+        for (int rights = 1; rights < 16; rights++) {
+            CASTLING[rights] = next(state);
+        }
+        for (int file = 0; file < 8; file++) {
+            EN_PASSANT[file] = next(state);
+        }
+    }
+
+    private Zobrist() {
+
+    }
+
+    /**
+     * @return the key for a piece standing on a square
+     */
+    public static long piece(ChessPiece piece, int square) {
+        return PIECES[piece.index()][square];
+    }
+
+    /**
+     * @param rights castling rights as a mask of the ChessGame castling constants
+     * @return the key for that set of rights, 0 for none
+     */
+    public static long castling(int rights) {
+        return CASTLING[rights];
+    }
+
+    /**
+     * @param square the en passant target square, or -1 for none
+     * @return the key for that square's file, 0 for none
+     */
+    public static long enPassant(int square) {
+        return square < 0 ? 0L : EN_PASSANT[square & 7];
+    }
+
+    private static long next(long[] state) {
+        // splitmix64
+        long z = (state[0] += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
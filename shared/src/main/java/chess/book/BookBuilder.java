@@ -0,0 +1,140 @@
+package chess.book;
+
+import chess.ChessGame;
+import chess.pgn.PgnGame;
+import chess.pgn.PgnReader;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles an {@link OpeningBook} from games. Every move played in the first
+ * plies of a game scores 2 for the side that played it if that side won, 1
+ * for a draw or an unfinished game and 0 for a loss. Moves that only ever lost
+ * are left out; the rest are weighted by their score.
+ */
+public class BookBuilder {
+    private final int maxPly;
+    // Polyglot key -> Polyglot move -> score
+    private final Map<Long, Map<Integer, Long>> positions = new HashMap<>();
+    private int games;
+    private int skipped;
+
+    /**
+     * @param maxPly number of half moves of each game to take into the book
+     */
+    public BookBuilder(int maxPly) {
+        this.maxPly = maxPly;
+    }
+
+    /**
+     * Adds the opening of one game
+     *
+     * @return false if the game has an illegal move and was left out
+     */
+    public boolean addGame(PgnGame pgn) {
+        ChessGame game;
+        int[] moves;
+        try {
+            game = pgn.startingPosition();
+            moves = pgn.play();
+        } catch (IllegalArgumentException e) {
+            skipped++;
+            return false;
+        }
+        for (int ply = 0; ply < Math.min(maxPly, moves.length); ply++) {
+            int score = switch (pgn.getResult()) {
+                case "1-0" -> game.getTeamTurn() == ChessGame.TeamColor.WHITE ? 2 : 0;
+                case "0-1" -> game.getTeamTurn() == ChessGame.TeamColor.BLACK ? 2 : 0;
+                default -> 1;
+            };
+            int polyglot = OpeningBook.encode(game.getBoard(), moves[ply]);
+            positions.computeIfAbsent(PolyglotKey.of(game), key -> new HashMap<>())
+                    .merge(polyglot, (long) score, Long::sum);
+            game.makeMove(moves[ply]);
+        }
+        games++;
+        return true;
+    }
+
+    /**
+     * Adds every game of a PGN text
+     *
+     * @return the number of games added
+     */
+    public int addPgn(Reader pgn) throws IOException {
+        int added = 0;
+        PgnReader reader = new PgnReader(pgn);
+        for (PgnGame game = reader.next(); game != null; game = reader.next()) {
+            if (addGame(game)) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    public int getGames() {
+        return games;
+    }
+
+    /**
+     * @return the number of games left out for illegal moves
+     */
+    public int getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * Writes the book, sorted by key and then by weight, heaviest first
+     */
+    public void write(Path path) throws IOException {
+        List<long[]> records = new ArrayList<>();
+        for (Map.Entry<Long, Map<Integer, Long>> position : positions.entrySet()) {
+            long max = 0;
+            for (long score : position.getValue().values()) {
+                max = Math.max(max, score);
+            }
+            for (Map.Entry<Integer, Long> move : position.getValue().entrySet()) {
+                long weight = max > 0xFFFF ? move.getValue() * 0xFFFF / max : move.getValue();
+                if (weight > 0) {
+                    records.add(new long[]{position.getKey(), move.getKey(), weight});
+                }
+            }
+        }
+        records.sort((a, b) -> a[0] != b[0] ? Long.compareUnsigned(a[0], b[0]) : Long.compare(b[2], a[2]));
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            for (long[] record : records) {
+                out.writeLong(record[0]);
+                out.writeShort((int) record[1]);
+                out.writeShort((int) record[2]);
+                out.writeInt(0);
+            }
+        }
+    }
+
+    /**
+     * Usage: {@code BookBuilder <book> <max plies> <pgn>...}
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("usage: BookBuilder <book> <max plies> <pgn>...");
+            return;
+        }
+        BookBuilder builder = new BookBuilder(Integer.parseInt(args[1]));
+        for (int i = 2; i < args.length; i++) {
+            try (Reader reader = Files.newBufferedReader(Path.of(args[i]))) {
+                builder.addPgn(reader);
+            }
+        }
+        builder.write(Path.of(args[0]));
+        System.out.println(builder.getGames() + " games, " + builder.getSkipped() + " skipped");
+    }
+}
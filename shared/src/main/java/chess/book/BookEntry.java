@@ -0,0 +1,45 @@
+package chess.book;
+
+import chess.moves.Move;
+
+/**
+ * One move of an opening book for one position
+ */
+public class BookEntry {
+    private final long key;
+    private final int move;
+    private final int weight;
+
+    public BookEntry(long key, int move, int weight) {
+        this.key = key;
+        this.move = move;
+        this.weight = weight;
+    }
+
+    /**
+     * @return the {@link PolyglotKey} of the position
+     */
+    public long getKey() {
+        return key;
+    }
+
+    /**
+     * @return the move packed with {@link Move}
+     */
+    public int getMove() {
+        return move;
+    }
+
+    /**
+     * @return how often the move should be chosen relative to the other
+     * moves of the position, from 0 to 65535
+     */
+    public int getWeight() {
+        return weight;
+    }
+
+    @Override
+    public String toString() {
+        return Move.name(move) + " " + weight;
+    }
+}
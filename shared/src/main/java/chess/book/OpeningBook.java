@@ -0,0 +1,183 @@
+package chess.book;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessPiece;
+import chess.moves.Move;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A read-only opening book mapped into memory. The file is a sorted array of
+ * 16 byte records in the Polyglot layout: an 8 byte position key, a 2 byte
+ * move, a 2 byte weight and 4 bytes of learning data, all big-endian, sorted
+ * by key as an unsigned number. A lookup is a binary search straight over the
+ * mapped pages, so nothing is read into the heap and every process that opens
+ * the same book shares one copy of it in the page cache.
+ * <p>
+ * Moves use the Polyglot encoding: the destination file in bits 0-2 and row in
+ * bits 3-5, the origin file in bits 6-8 and row in bits 9-11, and the
+ * promotion piece in bits 12-14 (knight 1, bishop 2, rook 3, queen 4).
+ * Castling is written as the king taking its own rook, e1h1 for white
+ * kingside. Keys are the Polyglot hash, {@link PolyglotKey}, so books written
+ * by other Polyglot tools can be read as well as those from {@link BookBuilder}.
+ */
+public class OpeningBook implements AutoCloseable {
+    static final int RECORD = 16;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int size;
+
+    private OpeningBook(FileChannel channel, MappedByteBuffer buffer) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.size = buffer.capacity() / RECORD;
+    }
+
+    /**
+     * Maps a book file
+     *
+     * @throws IOException if the file cannot be read, is larger than 2 GB or
+     *                     is not a whole number of records
+     */
+    public static OpeningBook open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long length = channel.size();
+            if (length % RECORD != 0 || length > Integer.MAX_VALUE) {
+                throw new IOException("not an opening book: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            buffer.order(ByteOrder.BIG_ENDIAN);
+            return new OpeningBook(channel, buffer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the number of records in the book
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the book moves of a position that are legal in it, in the order
+     * they are stored, heaviest first when written by {@link BookBuilder}
+     */
+    public List<BookEntry> lookup(ChessGame game) {
+        long key = PolyglotKey.of(game);
+        List<BookEntry> entries = new ArrayList<>();
+        for (int i = first(key); i < size && buffer.getLong(i * RECORD) == key; i++) {
+            int move = decode(game.getBoard(), buffer.getShort(i * RECORD + 8) & 0xFFFF);
+            if (move != Move.NONE && game.isLegal(move)) {
+                entries.add(new BookEntry(key, move, buffer.getShort(i * RECORD + 10) & 0xFFFF));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Chooses a book move at random, each in proportion to its weight
+     *
+     * @return the move packed with {@link Move}, or {@link Move#NONE} if the
+     * position is not in the book
+     */
+    public int pick(ChessGame game, Random random) {
+        List<BookEntry> entries = lookup(game);
+        int total = 0;
+        for (BookEntry entry : entries) {
+            total += entry.getWeight();
+        }
+        if (total == 0) {
+            return entries.isEmpty() ? Move.NONE : entries.get(0).getMove();
+        }
+        int roll = random.nextInt(total);
+        for (BookEntry entry : entries) {
+            roll -= entry.getWeight();
+            if (roll < 0) {
+                return entry.getMove();
+            }
+        }
+        return entries.get(entries.size() - 1).getMove();
+    }
+
+    // index of the first record whose key is not below the given key
+    private int first(long key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Long.compareUnsigned(buffer.getLong(mid * RECORD), key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return the move in Polyglot encoding
+     */
+    static int encode(ChessBoard board, int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        ChessPiece piece = board.getPiece(from);
+        if (piece != null && piece.getPieceType() == ChessPiece.PieceType.KING && Math.abs(to - from) == 2) {
+            to = (to > from) ? from + 3 : from - 4;
+        }
+        int promotion = 0;
+        ChessPiece.PieceType type = Move.promotion(move);
+        if (type != null) {
+            promotion = switch (type) {
+                case KNIGHT -> 1;
+                case BISHOP -> 2;
+                case ROOK -> 3;
+                default -> 4;
+            };
+        }
+        // with a1 as square 0 the file and row bits are just the square index
+        return to | (from << 6) | (promotion << 12);
+    }
+
+    /**
+     * @return the Polyglot move packed with {@link Move}, or {@link Move#NONE}
+     * if there is no piece on its origin
+     */
+    static int decode(ChessBoard board, int polyglot) {
+        int to = polyglot & 63;
+        int from = (polyglot >>> 6) & 63;
+        ChessPiece piece = board.getPiece(from);
+        if (piece == null) {
+            return Move.NONE;
+        }
+        if (piece.getPieceType() == ChessPiece.PieceType.KING && Math.abs((to & 7) - (from & 7)) > 1) {
+            to = (to > from) ? from + 2 : from - 2;
+        }
+        ChessPiece.PieceType promotion = switch ((polyglot >>> 12) & 7) {
+            case 1 -> ChessPiece.PieceType.KNIGHT;
+            case 2 -> ChessPiece.PieceType.BISHOP;
+            case 3 -> ChessPiece.PieceType.ROOK;
+            case 4 -> ChessPiece.PieceType.QUEEN;
+            default -> null;
+        };
+        return Move.encode(from, to, promotion);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
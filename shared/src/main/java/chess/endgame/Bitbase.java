@@ -0,0 +1,224 @@
+package chess.endgame;
+
+import chess.ChessGame;
+import chess.ChessPiece;
+import chess.moves.Attacks;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Win or draw for every position of one {@link Signature}, one bit per
+ * position. The side with the extra piece is called strong and is always
+ * white here; positions with a black strong side are probed mirrored. A
+ * position is indexed by the side to move (0 when strong), the strong king,
+ * the weak king and the piece, six bits each, so a table is 64 KB. A set bit
+ * means the strong side wins; illegal positions are 0.
+ * <p>
+ * Tables are generated by retrograde analysis: checkmates are marked won, then
+ * a position with the strong side to move is won once one of its moves reaches
+ * a won position and one with the weak side to move once all of its moves do,
+ * until a pass marks nothing new. Everything left is a draw. Pawn promotions
+ * look up the queen and rook tables, which are therefore built first.
+ */
+public final class Bitbase {
+    static final int SIZE = 2 * 64 * 64 * 64;
+    static final int BYTES = SIZE / 8;
+
+    private static final byte UNKNOWN = 0;
+    private static final byte WIN = 1;
+    private static final byte DRAW = 2;
+    private static final byte INVALID = 3;
+
+    private final ByteBuffer bits;
+
+    private Bitbase(ByteBuffer bits) {
+        this.bits = bits;
+    }
+
+    /**
+     * Maps a table written by {@link #write(Path)}
+     *
+     * @throws IOException if the file cannot be read or has the wrong size
+     */
+    public static Bitbase open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() != BYTES) {
+                throw new IOException("not a bitbase: " + path);
+            }
+            // the mapping stays valid after the channel is closed
+            return new Bitbase(channel.map(FileChannel.MapMode.READ_ONLY, 0, BYTES));
+        }
+    }
+
+    /**
+     * Writes the table, replacing the file in one move so that readers never
+     * map a partly written table
+     */
+    public void write(Path path) throws IOException {
+        Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.write(bits.duplicate().clear());
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @param strongToMove true if the side with the extra piece is to move
+     * @return true if the strong side wins; squares are seen from the strong
+     * side, which moves up the board
+     */
+    public boolean isWin(boolean strongToMove, int strongKing, int weakKing, int piece) {
+        int index = index(strongToMove ? 0 : 1, strongKing, weakKing, piece);
+        return (bits.get(index >>> 3) & (1 << (index & 7))) != 0;
+    }
+
+    private static int index(int side, int strongKing, int weakKing, int piece) {
+        return (side << 18) | (strongKing << 12) | (weakKing << 6) | piece;
+    }
+
+    /**
+     * Builds the table for a signature
+     *
+     * @param queen the KQK table, needed to build KPK
+     * @param rook  the KRK table, needed to build KPK
+     */
+    public static Bitbase generate(Signature signature, Bitbase queen, Bitbase rook) {
+        Generator generator = new Generator(signature.getPiece(), queen, rook);
+        byte[] values = generator.run();
+        byte[] packed = new byte[BYTES];
+        for (int i = 0; i < SIZE; i++) {
+            if (values[i] == WIN) {
+                packed[i >>> 3] |= (byte) (1 << (i & 7));
+            }
+        }
+        return new Bitbase(ByteBuffer.wrap(packed));
+    }
+
+    private static final class Generator {
+        private final ChessPiece.PieceType type;
+        private final Bitbase queen;
+        private final Bitbase rook;
+        private final byte[] values = new byte[SIZE];
+        // successors of one position, reused
+        private final int[] next = new int[64];
+
+        Generator(ChessPiece.PieceType type, Bitbase queen, Bitbase rook) {
+            this.type = type;
+            this.queen = queen;
+            this.rook = rook;
+        }
+
+        byte[] run() {
+            for (int i = 0; i < SIZE; i++) {
+                values[i] = classify(i);
+            }
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (int i = 0; i < SIZE; i++) {
+                    if (values[i] == UNKNOWN && isWon(i)) {
+                        values[i] = WIN;
+                        changed = true;
+                    }
+                }
+            }
+            return values;
+        }
+
+        private long attacks(int piece, long occupied) {
+            return Attacks.of(type, ChessGame.TeamColor.WHITE, piece, occupied);
+        }
+
+        // illegal positions, mates, stalemates and promotions that reach a won table
+        private byte classify(int index) {
+            int side = index >>> 18;
+            int strong = (index >>> 12) & 63;
+            int weak = (index >>> 6) & 63;
+            int piece = index & 63;
+            if (strong == weak || strong == piece || weak == piece
+                    || (Attacks.king(strong) & (1L << weak)) != 0
+                    || (type == ChessPiece.PieceType.PAWN && ((piece >>> 3) == 0 || (piece >>> 3) == 7))) {
+                return INVALID;
+            }
+            long occupied = (1L << strong) | (1L << weak) | (1L << piece);
+            boolean check = (attacks(piece, occupied) & (1L << weak)) != 0;
+            if (side == 0) {
+                if (check) {
+                    return INVALID;
+                }
+                if (type == ChessPiece.PieceType.PAWN && (piece >>> 3) == 6 && (occupied & (1L << (piece + 8))) == 0
+                        && (queen.isWin(false, strong, weak, piece + 8) || rook.isWin(false, strong, weak, piece + 8))) {
+                    return WIN;
+                }
+                return strongMoves(strong, weak, piece) == 0 ? DRAW : UNKNOWN;
+            }
+            if (weakMoves(strong, weak, piece) == 0) {
+                return check ? WIN : DRAW;
+            }
+            return UNKNOWN;
+        }
+
+        private boolean isWon(int index) {
+            int strong = (index >>> 12) & 63;
+            int weak = (index >>> 6) & 63;
+            int piece = index & 63;
+            if (index >>> 18 == 0) {
+                int count = strongMoves(strong, weak, piece);
+                for (int i = 0; i < count; i++) {
+                    if (values[next[i]] == WIN) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            int count = weakMoves(strong, weak, piece);
+            for (int i = 0; i < count; i++) {
+                // -1 is a capture of the piece, a bare king draw
+                if (next[i] < 0 || values[next[i]] != WIN) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // fills next with the positions the strong side can reach, promotions excluded
+        private int strongMoves(int strong, int weak, int piece) {
+            int count = 0;
+            long occupied = (1L << strong) | (1L << weak) | (1L << piece);
+            for (long to = Attacks.king(strong) & ~Attacks.king(weak) & ~(1L << piece); to != 0; to &= to - 1) {
+                next[count++] = index(1, Long.numberOfTrailingZeros(to), weak, piece);
+            }
+            if (type == ChessPiece.PieceType.PAWN) {
+                int one = piece + 8;
+                if ((occupied & (1L << one)) == 0 && (one >>> 3) < 7) {
+                    next[count++] = index(1, strong, weak, one);
+                    if ((piece >>> 3) == 1 && (occupied & (1L << (one + 8))) == 0) {
+                        next[count++] = index(1, strong, weak, one + 8);
+                    }
+                }
+                return count;
+            }
+            for (long to = attacks(piece, occupied) & ~occupied; to != 0; to &= to - 1) {
+                next[count++] = index(1, strong, weak, Long.numberOfTrailingZeros(to));
+            }
+            return count;
+        }
+
+        // fills next with the positions the weak king can reach, -1 for taking the piece
+        private int weakMoves(int strong, int weak, int piece) {
+            int count = 0;
+            long guarded = Attacks.king(strong) | attacks(piece, (1L << strong) | (1L << piece));
+            for (long to = Attacks.king(weak) & ~guarded & ~(1L << strong); to != 0; to &= to - 1) {
+                int square = Long.numberOfTrailingZeros(to);
+                next[count++] = square == piece ? -1 : index(0, strong, square, piece);
+            }
+            return count;
+        }
+    }
+}
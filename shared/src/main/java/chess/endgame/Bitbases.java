@@ -0,0 +1,116 @@
+package chess.endgame;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessPiece;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The bitbases of every {@link Signature}, loaded by {@link #load()} when the
+ * application starts; probes find nothing until then, so a search never
+ * stops to build them. Tables are mapped from the directory named by the
+ * {@code chess.bitbases} system property, by default {@code .chess/bitbases}
+ * in the user's home directory; missing tables are generated and written
+ * there first, which takes a few seconds once. Every JVM that maps the same
+ * files shares one copy of them.
+ */
+public final class Bitbases {
+    private static volatile Map<Signature, Bitbase> tables;
+
+    private Bitbases() {
+
+    }
+
+    /**
+     * @return the directory tables are loaded from
+     */
+    public static Path directory() {
+        String dir = System.getProperty("chess.bitbases");
+        return dir != null ? Path.of(dir) : Path.of(System.getProperty("user.home"), ".chess", "bitbases");
+    }
+
+    /**
+     * Loads the tables, generating any that are missing; later calls return
+     * at once
+     *
+     * @throws UncheckedIOException if the tables cannot be read or written
+     */
+    public static void load() {
+        if (tables == null) {
+            synchronized (Bitbases.class) {
+                if (tables == null) {
+                    tables = load(directory());
+                }
+            }
+        }
+    }
+
+    private static Map<Signature, Bitbase> load(Path dir) {
+        Map<Signature, Bitbase> loaded = new EnumMap<>(Signature.class);
+        try {
+            Files.createDirectories(dir);
+            // KPK promotes into the other two, so they come first
+            for (Signature signature : Signature.values()) {
+                Path path = dir.resolve(signature.name().toLowerCase() + ".bin");
+                if (!Files.exists(path)) {
+                    Bitbase.generate(signature, loaded.get(Signature.KQK), loaded.get(Signature.KRK)).write(path);
+                }
+                loaded.put(signature, Bitbase.open(path));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot load bitbases from " + dir, e);
+        }
+        return loaded;
+    }
+
+    /**
+     * Looks up a position with both kings and one queen, rook or pawn. Castling
+     * and en passant are not part of the tables, so positions that still have
+     * castling rights are not covered, nor is anything before {@link #load()}
+     * has finished.
+     *
+     * @return the result for the team to move, or {@link Outcome#UNKNOWN}
+     */
+    public static Outcome probe(ChessGame game) {
+        Map<Signature, Bitbase> loaded = tables;
+        if (loaded == null) {
+            return Outcome.UNKNOWN;
+        }
+        ChessBoard board = game.getBoard();
+        long occupied = board.occupied();
+        if (Long.bitCount(occupied) != 3 || game.getCastlingRights() != 0) {
+            return Outcome.UNKNOWN;
+        }
+        ChessGame.TeamColor strong = ChessGame.TeamColor.WHITE;
+        int piece = -1;
+        Signature signature = null;
+        for (long squares = occupied; squares != 0; squares &= squares - 1) {
+            int square = Long.numberOfTrailingZeros(squares);
+            ChessPiece found = board.getPiece(square);
+            if (found.getPieceType() != ChessPiece.PieceType.KING) {
+                strong = found.getTeamColor();
+                piece = square;
+                signature = Signature.of(found.getPieceType());
+            }
+        }
+        ChessGame.TeamColor weak = (strong == ChessGame.TeamColor.WHITE) ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+        int strongKing = board.kingSquare(strong);
+        int weakKing = board.kingSquare(weak);
+        if (signature == null || strongKing < 0 || weakKing < 0) {
+            return Outcome.UNKNOWN;
+        }
+        // tables have white as the strong side, so flip the rows for black
+        int flip = (strong == ChessGame.TeamColor.WHITE) ? 0 : 56;
+        boolean strongToMove = game.getTeamTurn() == strong;
+        if (!loaded.get(signature).isWin(strongToMove, strongKing ^ flip, weakKing ^ flip, piece ^ flip)) {
+            return Outcome.DRAW;
+        }
+        return strongToMove ? Outcome.WIN : Outcome.LOSS;
+    }
+}
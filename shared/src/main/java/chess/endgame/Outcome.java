@@ -0,0 +1,15 @@
+package chess.endgame;
+
+/**
+ * The theoretical result of a position for the team to move, with best play
+ * by both teams
+ */
+public enum Outcome {
+    WIN,
+    DRAW,
+    LOSS,
+    /**
+     * The position is not covered by a bitbase
+     */
+    UNKNOWN
+}
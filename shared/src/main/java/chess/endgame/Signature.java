@@ -0,0 +1,38 @@
+package chess.endgame;
+
+import chess.ChessPiece;
+
+/**
+ * The material of an ending with a bitbase: both kings and one more piece
+ */
+public enum Signature {
+    KQK(ChessPiece.PieceType.QUEEN),
+    KRK(ChessPiece.PieceType.ROOK),
+    KPK(ChessPiece.PieceType.PAWN);
+
+    private final ChessPiece.PieceType piece;
+
+    Signature(ChessPiece.PieceType piece) {
+        this.piece = piece;
+    }
+
+    /**
+     * @return the type of the piece besides the kings
+     */
+    public ChessPiece.PieceType getPiece() {
+        return piece;
+    }
+
+    /**
+     * @return the signature for a king and this piece against a king, or null
+     * if there is no bitbase for it
+     */
+    public static Signature of(ChessPiece.PieceType piece) {
+        for (Signature signature : values()) {
+            if (signature.piece == piece) {
+                return signature;
+            }
+        }
+        return null;
+    }
+}
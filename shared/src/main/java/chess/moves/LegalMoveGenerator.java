@@ -0,0 +1,187 @@
+package chess.moves;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessPiece;
+
+/**
+ * Generates strictly legal moves without making any of them. Once per
+ * position it finds the pieces giving check and the pieces pinned to their
+ * king; a piece then may only move onto the check evasion squares (the
+ * checker or a square between it and the king) and, if pinned, only along
+ * the line through its king. King moves are tested against the enemy attacks
+ * with the king lifted off the board, and en passant, which removes two
+ * pieces from one row, gets a full attack test of its own.
+ * <p>
+ * Boards without a king of the moving team have no check to evade, so every
+ * pseudo-legal move is returned, as the make-and-test filter in
+ * {@link ChessGame} does.
+ */
+public final class LegalMoveGenerator {
+    private static final long[][] BETWEEN = new long[64][64];
+    private static final long[][] LINE = new long[64][64];
+
+    private static final int[] PROMOTIONS = {
+            ChessPiece.PieceType.QUEEN.ordinal() + 1,
+            ChessPiece.PieceType.ROOK.ordinal() + 1,
+            ChessPiece.PieceType.BISHOP.ordinal() + 1,
+            ChessPiece.PieceType.KNIGHT.ordinal() + 1
+    };
+
+    static {
+        for (int a = 0; a < 64; a++) {
+            for (int b = 0; b < 64; b++) {
+                if (a == b) {
+                    continue;
+                }
+                long ends = (1L << a) | (1L << b);
+                if ((Attacks.rook(a, 0L) & (1L << b)) != 0) {
+                    BETWEEN[a][b] = Attacks.rook(a, 1L << b) & Attacks.rook(b, 1L << a);
+                    LINE[a][b] = (Attacks.rook(a, 0L) & Attacks.rook(b, 0L)) | ends;
+                } else if ((Attacks.bishop(a, 0L) & (1L << b)) != 0) {
+                    BETWEEN[a][b] = Attacks.bishop(a, 1L << b) & Attacks.bishop(b, 1L << a);
+                    LINE[a][b] = (Attacks.bishop(a, 0L) & Attacks.bishop(b, 0L)) | ends;
+                }
+            }
+        }
+    }
+
+    private LegalMoveGenerator() {
+
+    }
+
+    /**
+     * Appends the legal moves of one team
+     *
+     * @param castling  castling rights, see {@link ChessGame#WHITE_KINGSIDE}
+     * @param enPassant en passant target square, or -1 for none
+     * @param from      mask of the squares whose pieces may move, -1 for all
+     * @param moves     buffer to write into
+     * @param count     number of moves already in the buffer
+     * @return the new number of moves in the buffer
+     */
+    public static int generate(ChessBoard board, ChessGame.TeamColor color, int castling, int enPassant,
+                               long from, int[] moves, int count) {
+        int king = board.kingSquare(color);
+        if (king < 0) {
+            return pseudoLegal(board, color, castling, enPassant, from, moves, count);
+        }
+        ChessGame.TeamColor enemy = (color == ChessGame.TeamColor.WHITE) ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+        long own = board.pieces(color);
+        long occupied = board.occupied();
+        long theirPawns = board.pieces(enemy, ChessPiece.PieceType.PAWN);
+        long theirKnights = board.pieces(enemy, ChessPiece.PieceType.KNIGHT);
+        long theirKing = board.pieces(enemy, ChessPiece.PieceType.KING);
+        long theirQueens = board.pieces(enemy, ChessPiece.PieceType.QUEEN);
+        long theirRooks = board.pieces(enemy, ChessPiece.PieceType.ROOK) | theirQueens;
+        long theirBishops = board.pieces(enemy, ChessPiece.PieceType.BISHOP) | theirQueens;
+
+        if ((from & (1L << king)) != 0) {
+            long lifted = occupied & ~(1L << king);
+            for (long targets = Attacks.king(king) & ~own; targets != 0; targets &= targets - 1) {
+                int to = Long.numberOfTrailingZeros(targets);
+                if (attackers(color, to, lifted, theirPawns, theirKnights, theirKing, theirRooks, theirBishops) == 0) {
+                    moves[count++] = Move.encode(king, to, 0, 0);
+                }
+            }
+            int castles = MoveGenerator.castling(board, color, castling, moves, count);
+            for (int i = count; i < castles; i++) {
+                if (attackers(color, Move.to(moves[i]), occupied, theirPawns, theirKnights, theirKing, theirRooks, theirBishops) == 0) {
+                    moves[count++] = moves[i];
+                }
+            }
+        }
+
+        long checkers = attackers(color, king, occupied, theirPawns, theirKnights, theirKing, theirRooks, theirBishops);
+        if (Long.bitCount(checkers) > 1) {
+            return count;
+        }
+        long evasions = -1L;
+        if (checkers != 0) {
+            evasions = checkers | BETWEEN[king][Long.numberOfTrailingZeros(checkers)];
+        }
+
+        long pinned = 0L;
+        long enemies = board.pieces(enemy);
+        long snipers = (Attacks.rook(king, enemies) & theirRooks) | (Attacks.bishop(king, enemies) & theirBishops);
+        for (; snipers != 0; snipers &= snipers - 1) {
+            long blockers = BETWEEN[king][Long.numberOfTrailingZeros(snipers)] & occupied;
+            if ((blockers & (blockers - 1)) == 0) {
+                pinned |= blockers & own;
+            }
+        }
+
+        long movers = own & from & ~(1L << king);
+        for (long pieces = movers; pieces != 0; pieces &= pieces - 1) {
+            int sq = Long.numberOfTrailingZeros(pieces);
+            long allowed = evasions;
+            if ((pinned & (1L << sq)) != 0) {
+                allowed &= LINE[king][sq];
+            }
+            ChessPiece piece = board.getPiece(sq);
+            if (piece.getPieceType() == ChessPiece.PieceType.PAWN) {
+                count = pawnMoves(color, sq, own, occupied, allowed, moves, count);
+            } else {
+                long targets = Attacks.of(piece.getPieceType(), color, sq, occupied) & ~own & allowed;
+                for (; targets != 0; targets &= targets - 1) {
+                    moves[count++] = Move.encode(sq, Long.numberOfTrailingZeros(targets), 0, 0);
+                }
+            }
+        }
+
+        if (enPassant >= 0) {
+            int captured = enPassant + ((color == ChessGame.TeamColor.WHITE) ? -8 : 8);
+            long pawns = board.pieces(color, ChessPiece.PieceType.PAWN) & Attacks.pawn(enemy, enPassant) & movers;
+            for (; pawns != 0; pawns &= pawns - 1) {
+                int sq = Long.numberOfTrailingZeros(pawns);
+                long after = (occupied & ~(1L << sq) & ~(1L << captured)) | (1L << enPassant);
+                if (attackers(color, king, after, theirPawns & ~(1L << captured), theirKnights, theirKing, theirRooks, theirBishops) == 0) {
+                    moves[count++] = Move.encode(sq, enPassant, 0, 0);
+                }
+            }
+        }
+        return count;
+    }
+
+    private static int pawnMoves(ChessGame.TeamColor color, int from, long own, long occupied, long allowed, int[] moves, int count) {
+        int forward = (color == ChessGame.TeamColor.WHITE) ? 8 : -8;
+        long targets = Attacks.pawn(color, from) & occupied & ~own;
+        int one = from + forward;
+        if (one >= 0 && one < 64 && (occupied & (1L << one)) == 0) {
+            targets |= 1L << one;
+            int startRow = (color == ChessGame.TeamColor.WHITE) ? 1 : 6;
+            int two = one + forward;
+            if ((from >>> 3) == startRow && (occupied & (1L << two)) == 0) {
+                targets |= 1L << two;
+            }
+        }
+        for (targets &= allowed; targets != 0; targets &= targets - 1) {
+            int to = Long.numberOfTrailingZeros(targets);
+            if ((to >>> 3) == 0 || (to >>> 3) == 7) {
+                for (int promotion : PROMOTIONS) {
+                    moves[count++] = Move.encode(from, to, promotion, 0);
+                }
+            } else {
+                moves[count++] = Move.encode(from, to, 0, 0);
+            }
+        }
+        return count;
+    }
+
+    private static long attackers(ChessGame.TeamColor color, int square, long occupied, long pawns, long knights,
+                                  long king, long rooks, long bishops) {
+        return (Attacks.pawn(color, square) & pawns)
+                | (Attacks.knight(square) & knights)
+                | (Attacks.king(square) & king)
+                | (Attacks.rook(square, occupied) & rooks)
+                | (Attacks.bishop(square, occupied) & bishops);
+    }
+
+    private static int pseudoLegal(ChessBoard board, ChessGame.TeamColor color, int castling, int enPassant,
+                                   long from, int[] moves, int count) {
+        for (long pieces = board.pieces(color) & from; pieces != 0; pieces &= pieces - 1) {
+            count = MoveGenerator.generate(board, Long.numberOfTrailingZeros(pieces), moves, count);
+        }
+        return MoveGenerator.enPassant(board, color, enPassant, from, moves, count);
+    }
+}
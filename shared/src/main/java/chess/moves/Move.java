@@ -0,0 +1,95 @@
+package chess.moves;
+
+import chess.ChessMove;
+import chess.ChessPiece;
+import chess.ChessPosition;
+
+/**
+ * Static helpers for moves packed into an int, used by the engine paths that
+ * must not allocate a {@link ChessMove} per move.
+ * <p>
+ * Bits 0-5 hold the start square, bits 6-11 the end square (a1 = 0, h8 = 63),
+ * bits 12-14 the promotion piece (0 for none, otherwise its
+ * {@link ChessPiece.PieceType} ordinal + 1) and the bits from 15 up hold
+ * flags for special moves.
+ */
+public final class Move {
+    public static final int NONE = 0;
+
+    private static final ChessPiece.PieceType[] TYPES = ChessPiece.PieceType.values();
+
+    private Move() {
+
+    }
+
+    public static int encode(int from, int to, int promotion, int flags) {
+        return from | (to << 6) | (promotion << 12) | (flags << 15);
+    }
+
+    public static int encode(int from, int to, ChessPiece.PieceType promotion) {
+        return encode(from, to, promotion == null ? 0 : promotion.ordinal() + 1, 0);
+    }
+
+    public static int from(int move) {
+        return move & 63;
+    }
+
+    public static int to(int move) {
+        return (move >>> 6) & 63;
+    }
+
+    /**
+     * @return 0 for no promotion, otherwise the promotion piece's ordinal + 1
+     */
+    public static int promotionCode(int move) {
+        return (move >>> 12) & 7;
+    }
+
+    /**
+     * @return the promotion piece, or null if the move is not a promotion
+     */
+    public static ChessPiece.PieceType promotion(int move) {
+        int code = promotionCode(move);
+        return code == 0 ? null : TYPES[code - 1];
+    }
+
+    public static int flags(int move) {
+        return move >>> 15;
+    }
+
+    /**
+     * @return the packed form of a {@link ChessMove}, without any flags
+     */
+    public static int of(ChessMove move) {
+        ChessPosition start = move.getStartPosition();
+        ChessPosition end = move.getEndPosition();
+        return encode((start.getRow() - 1) * 8 + start.getColumn() - 1,
+                (end.getRow() - 1) * 8 + end.getColumn() - 1, move.getPromotionPiece());
+    }
+
+    public static ChessMove toChessMove(int move) {
+        return new ChessMove(ChessPosition.of(from(move)), ChessPosition.of(to(move)), promotion(move));
+    }
+
+    /**
+     * @return the move in coordinate notation, e.g. {@code e2e4} or {@code e7e8q}
+     */
+    public static String name(int move) {
+        String name = square(from(move)) + square(to(move));
+        ChessPiece.PieceType promotion = promotion(move);
+        if (promotion != null) {
+            name += switch (promotion) {
+                case QUEEN -> "q";
+                case ROOK -> "r";
+                case BISHOP -> "b";
+                case KNIGHT -> "n";
+                default -> "?";
+            };
+        }
+        return name;
+    }
+
+    private static String square(int square) {
+        return "" + (char) ('a' + (square & 7)) + (char) ('1' + (square >>> 3));
+    }
+}
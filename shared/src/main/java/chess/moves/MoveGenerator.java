@@ -0,0 +1,222 @@
+package chess.moves;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessPiece;
+
+/**
+ * Generates pseudo-legal moves (moves that may leave the mover's king in
+ * check) packed with {@link Move} into a caller-supplied int buffer. A buffer
+ * of {@link #MAX_MOVES} entries holds every move of any position a game can
+ * reach, so engine code can keep one buffer per ply and generate without
+ * allocating. A board set up by hand, e.g. with a dozen queens, can have more;
+ * a buffer of {@link #MAX_BOARD_MOVES} entries holds the moves of any board.
+ * <p>
+ * Castling and en passant depend on game state that a board does not hold,
+ * so they have their own methods taking the castling rights and the en
+ * passant target square.
+ */
+public final class MoveGenerator {
+    public static final int MAX_MOVES = 256;
+    // a move for each pair of an own square and another, at most 32 * 32, and
+    // three more for each of the 24 pawn steps onto the last row
+    public static final int MAX_BOARD_MOVES = 32 * 32 + 24 * 3;
+
+    private static final int[] PROMOTIONS = {
+            ChessPiece.PieceType.QUEEN.ordinal() + 1,
+            ChessPiece.PieceType.ROOK.ordinal() + 1,
+            ChessPiece.PieceType.BISHOP.ordinal() + 1,
+            ChessPiece.PieceType.KNIGHT.ordinal() + 1
+    };
+    // the same four codes are the range from queen to rook
+    private static final int FIRST_PROMOTION = ChessPiece.PieceType.QUEEN.ordinal() + 1;
+    private static final int LAST_PROMOTION = ChessPiece.PieceType.ROOK.ordinal() + 1;
+
+    private MoveGenerator() {
+
+    }
+
+    /**
+     * Appends the pseudo-legal moves of every piece of one team
+     *
+     * @param moves buffer to write into
+     * @param count number of moves already in the buffer
+     * @return the new number of moves in the buffer
+     */
+    public static int generate(ChessBoard board, ChessGame.TeamColor color, int[] moves, int count) {
+        long own = board.pieces(color);
+        long occupied = board.occupied();
+        for (long pieces = own; pieces != 0; pieces &= pieces - 1) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            count = generate(board.getPiece(from), from, own, occupied, moves, count);
+        }
+        return count;
+    }
+
+    /**
+     * Appends the pseudo-legal moves of the piece on one square
+     *
+     * @param moves buffer to write into
+     * @param count number of moves already in the buffer
+     * @return the new number of moves in the buffer
+     */
+    public static int generate(ChessBoard board, int from, int[] moves, int count) {
+        ChessPiece piece = board.getPiece(from);
+        if (piece == null) {
+            return count;
+        }
+        return generate(piece, from, board.pieces(piece.getTeamColor()), board.occupied(), moves, count);
+    }
+
+    private static int generate(ChessPiece piece, int from, long own, long occupied, int[] moves, int count) {
+        ChessGame.TeamColor color = piece.getTeamColor();
+        if (piece.getPieceType() != ChessPiece.PieceType.PAWN) {
+            long targets = Attacks.of(piece.getPieceType(), color, from, occupied) & ~own;
+            for (; targets != 0; targets &= targets - 1) {
+                moves[count++] = Move.encode(from, Long.numberOfTrailingZeros(targets), 0, 0);
+            }
+            return count;
+        }
+
+        int forward = (color == ChessGame.TeamColor.WHITE) ? 8 : -8;
+        long targets = Attacks.pawn(color, from) & occupied & ~own;
+        int one = from + forward;
+        if (one >= 0 && one < 64 && (occupied & (1L << one)) == 0) {
+            targets |= 1L << one;
+            int startRow = (color == ChessGame.TeamColor.WHITE) ? 1 : 6;
+            int two = one + forward;
+            if ((from >>> 3) == startRow && (occupied & (1L << two)) == 0) {
+                targets |= 1L << two;
+            }
+        }
+        for (; targets != 0; targets &= targets - 1) {
+            int to = Long.numberOfTrailingZeros(targets);
+            if ((to >>> 3) == 0 || (to >>> 3) == 7) {
+                for (int promotion : PROMOTIONS) {
+                    moves[count++] = Move.encode(from, to, promotion, 0);
+                }
+            } else {
+                moves[count++] = Move.encode(from, to, 0, 0);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Appends the castling moves a team's rights allow, as king moves of two
+     * squares. The king must not be in check or pass over an attacked
+     * square; whether it lands in check is left to the legality filter.
+     *
+     * @param rights castling rights, see {@link ChessGame#WHITE_KINGSIDE}
+     * @return the new number of moves in the buffer
+     */
+    public static int castling(ChessBoard board, ChessGame.TeamColor color, int rights, int[] moves, int count) {
+        int kingside = (color == ChessGame.TeamColor.WHITE) ? ChessGame.WHITE_KINGSIDE : ChessGame.BLACK_KINGSIDE;
+        int queenside = kingside << 1;
+        if ((rights & (kingside | queenside)) == 0) {
+            return count;
+        }
+        int home = (color == ChessGame.TeamColor.WHITE) ? 4 : 60;
+        if (!ChessPiece.of(color, ChessPiece.PieceType.KING).equals(board.getPiece(home))) {
+            return count;
+        }
+        ChessGame.TeamColor enemy = (color == ChessGame.TeamColor.WHITE) ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+        if (board.isAttacked(home, enemy)) {
+            return count;
+        }
+        ChessPiece rook = ChessPiece.of(color, ChessPiece.PieceType.ROOK);
+        long occupied = board.occupied();
+        if ((rights & kingside) != 0 && rook.equals(board.getPiece(home + 3))
+                && (occupied & (3L << (home + 1))) == 0 && !board.isAttacked(home + 1, enemy)) {
+            moves[count++] = Move.encode(home, home + 2, 0, 0);
+        }
+        if ((rights & queenside) != 0 && rook.equals(board.getPiece(home - 4))
+                && (occupied & (7L << (home - 3))) == 0 && !board.isAttacked(home - 1, enemy)) {
+            moves[count++] = Move.encode(home, home - 2, 0, 0);
+        }
+        return count;
+    }
+
+    /**
+     * Appends the en passant captures onto a target square
+     *
+     * @param target the square a pawn skipped over with its double step, or -1
+     * @param from   mask of the squares whose pawns may capture, -1 for all
+     * @return the new number of moves in the buffer
+     */
+    public static int enPassant(ChessBoard board, ChessGame.TeamColor color, int target, long from, int[] moves, int count) {
+        if (target < 0) {
+            return count;
+        }
+        ChessGame.TeamColor enemy = (color == ChessGame.TeamColor.WHITE) ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+        long pawns = board.pieces(color, ChessPiece.PieceType.PAWN) & Attacks.pawn(enemy, target) & from;
+        for (; pawns != 0; pawns &= pawns - 1) {
+            moves[count++] = Move.encode(Long.numberOfTrailingZeros(pawns), target, 0, 0);
+        }
+        return count;
+    }
+
+    /**
+     * Tests one move against the rules of movement without generating the
+     * piece's other moves: the piece's geometry, the squares it passes over,
+     * the promotion rules, and castling and en passant. Whether the move
+     * leaves the mover's king in check is not tested.
+     *
+     * @param castling  castling rights, see {@link ChessGame#WHITE_KINGSIDE}
+     * @param enPassant en passant target square, or -1 for none
+     * @param move      a move packed with {@link Move}
+     * @return true if {@link #generate(ChessBoard, int, int[], int)} or the
+     * castling and en passant methods would produce this move
+     */
+    public static boolean isPseudoLegal(ChessBoard board, int castling, int enPassant, int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        ChessPiece piece = board.getPiece(from);
+        if (piece == null || from == to) {
+            return false;
+        }
+        ChessGame.TeamColor color = piece.getTeamColor();
+        long target = 1L << to;
+        if ((board.pieces(color) & target) != 0) {
+            return false;
+        }
+        long occupied = board.occupied();
+        int promotion = Move.promotionCode(move);
+        ChessPiece.PieceType type = piece.getPieceType();
+        if (type != ChessPiece.PieceType.PAWN) {
+            if (promotion != 0) {
+                return false;
+            }
+            if ((Attacks.of(type, color, from, occupied) & target) != 0) {
+                return true;
+            }
+            int home = (color == ChessGame.TeamColor.WHITE) ? 4 : 60;
+            if (type != ChessPiece.PieceType.KING || from != home || Math.abs(to - from) != 2) {
+                return false;
+            }
+            // the same tests as castling(), for the one side the move goes to
+            boolean kingside = to > from;
+            int right = ((color == ChessGame.TeamColor.WHITE) ? ChessGame.WHITE_KINGSIDE : ChessGame.BLACK_KINGSIDE) << (kingside ? 0 : 1);
+            int corner = kingside ? home + 3 : home - 4;
+            long between = kingside ? 3L << (home + 1) : 7L << (home - 3);
+            ChessGame.TeamColor enemy = (color == ChessGame.TeamColor.WHITE) ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+            return (castling & right) != 0 && ChessPiece.of(color, ChessPiece.PieceType.ROOK).equals(board.getPiece(corner))
+                    && (occupied & between) == 0 && !board.isAttacked(home, enemy) && !board.isAttacked((from + to) >>> 1, enemy);
+        }
+
+        boolean lastRow = (to >>> 3) == 0 || (to >>> 3) == 7;
+        if (lastRow ? promotion < FIRST_PROMOTION || promotion > LAST_PROMOTION : promotion != 0) {
+            return false;
+        }
+        int forward = (color == ChessGame.TeamColor.WHITE) ? 8 : -8;
+        if ((Attacks.pawn(color, from) & target) != 0) {
+            return (occupied & target) != 0 || to == enPassant;
+        }
+        if (to == from + forward) {
+            return (occupied & target) == 0;
+        }
+        int startRow = (color == ChessGame.TeamColor.WHITE) ? 1 : 6;
+        return to == from + 2 * forward && (from >>> 3) == startRow
+                && (occupied & ((1L << (from + forward)) | target)) == 0;
+    }
+}
@@ -11,10 +11,10 @@ public class PawnMove {
     public void move(ChessBoard board, ChessPosition myPosition, ChessPiece current, int row, int col){
         int direction = (current.getTeamColor() == ChessGame.TeamColor.WHITE) ? 1 : -1;
         boolean promotion = (row + direction == 1 || row + direction == 8);
-        ChessPosition one = new ChessPosition(row + direction,col);
-        ChessPosition two = new ChessPosition(row + direction*2, col);
-        ChessPosition capr = new ChessPosition(row + direction,col + 1);
-        ChessPosition capl = new ChessPosition(row + direction,col - 1);
+        ChessPosition one = ChessPosition.of(row + direction,col);
+        ChessPosition two = ChessPosition.of(row + direction*2, col);
+        ChessPosition capr = ChessPosition.of(row + direction,col + 1);
+        ChessPosition capl = ChessPosition.of(row + direction,col - 1);
         if(board.getPiece(one) == null){
             if(promotion){
                 moves.add(new ChessMove(myPosition, one, ChessPiece.PieceType.QUEEN));
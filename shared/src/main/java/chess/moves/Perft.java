@@ -0,0 +1,179 @@
+package chess.moves;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.Fen;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Counts the leaf nodes of the legal move tree to a fixed depth. The counts
+ * for standard positions are published, which makes perft the usual way to
+ * validate a move generator and to measure its raw speed.
+ */
+public final class Perft {
+
+    private Perft() {
+
+    }
+
+    /**
+     * @return the number of legal move sequences of exactly this many plies
+     * @throws IllegalArgumentException if the depth is negative
+     */
+    public static long perft(ChessGame game, int depth) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("negative depth " + depth);
+        }
+        if (depth == 0) {
+            return 1;
+        }
+        return count(game, depth, new int[depth][MoveGenerator.MAX_MOVES]);
+    }
+
+    private static long count(ChessGame game, int depth, int[][] buffers) {
+        int[] moves = buffers[depth - 1];
+        int n = game.legalMoves(game.getTeamTurn(), moves, 0);
+        if (depth == 1) {
+            return n;
+        }
+        long nodes = 0;
+        for (int i = 0; i < n; i++) {
+            game.makeMove(moves[i]);
+            nodes += count(game, depth - 1, buffers);
+            game.unmakeMove();
+        }
+        return nodes;
+    }
+
+    /**
+     * Runs perft below each root move on one thread
+     *
+     * @return the node count under each root move, in generation order
+     * @throws IllegalArgumentException if the depth is below 1
+     */
+    public static Result divide(ChessGame game, int depth) {
+        checkDivideDepth(depth);
+        long start = System.nanoTime();
+        Map<ChessMove, Long> counts = new LinkedHashMap<>();
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int n = game.legalMoves(game.getTeamTurn(), moves, 0);
+        for (int i = 0; i < n; i++) {
+            game.makeMove(moves[i]);
+            counts.put(Move.toChessMove(moves[i]), perft(game, depth - 1));
+            game.unmakeMove();
+        }
+        return new Result(counts, System.nanoTime() - start);
+    }
+
+    /**
+     * Runs perft below each root move as a separate task on a fork-join pool,
+     * each on its own copy of the game
+     *
+     * @return the node count under each root move, in generation order
+     * @throws IllegalArgumentException if the depth is below 1
+     */
+    public static Result divide(ChessGame game, int depth, ForkJoinPool pool) {
+        checkDivideDepth(depth);
+        long start = System.nanoTime();
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int n = game.legalMoves(game.getTeamTurn(), moves, 0);
+        RootTask[] tasks = new RootTask[n];
+        for (int i = 0; i < n; i++) {
+            tasks[i] = new RootTask(game, moves[i], depth - 1);
+        }
+        Map<ChessMove, Long> counts = pool.invoke(new RecursiveTask<>() {
+            @Override
+            protected Map<ChessMove, Long> compute() {
+                invokeAll(tasks);
+                Map<ChessMove, Long> counts = new LinkedHashMap<>();
+                for (RootTask task : tasks) {
+                    counts.put(Move.toChessMove(task.move), task.join());
+                }
+                return counts;
+            }
+        });
+        return new Result(counts, System.nanoTime() - start);
+    }
+
+    // a divide plays the root moves, so it needs at least one ply
+    private static void checkDivideDepth(int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("divide depth " + depth + " is below 1");
+        }
+    }
+
+    private static class RootTask extends RecursiveTask<Long> {
+        private final ChessGame game;
+        private final int move;
+        private final int depth;
+
+        RootTask(ChessGame game, int move, int depth) {
+            this.game = new ChessGame(game);
+            this.move = move;
+            this.depth = depth;
+        }
+
+        @Override
+        protected Long compute() {
+            game.makeMove(move);
+            return perft(game, depth);
+        }
+    }
+
+    /**
+     * Node counts per root move and the time taken to count them
+     */
+    public static class Result {
+        private final Map<ChessMove, Long> counts;
+        private final long nanos;
+
+        Result(Map<ChessMove, Long> counts, long nanos) {
+            this.counts = counts;
+            this.nanos = nanos;
+        }
+
+        public Map<ChessMove, Long> getCounts() {
+            return counts;
+        }
+
+        public long getNodes() {
+            long nodes = 0;
+            for (long count : counts.values()) {
+                nodes += count;
+            }
+            return nodes;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public double getNodesPerSecond() {
+            return nanos == 0 ? 0 : getNodes() * 1e9 / nanos;
+        }
+    }
+
+    /**
+     * Prints divide output for a position: {@code Perft depth [threads] [fen]}
+     */
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        String fen = args.length > 2 ? String.join(" ", Arrays.copyOfRange(args, 2, args.length)) : Fen.START;
+
+        ChessGame game = Fen.parse(fen);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        Result result = divide(game, depth, pool);
+        pool.shutdown();
+        for (Map.Entry<ChessMove, Long> entry : result.getCounts().entrySet()) {
+            System.out.println(Move.name(Move.of(entry.getKey())) + ": " + entry.getValue());
+        }
+        System.out.printf("%nnodes: %d%ntime: %.3f s%nnodes/second: %.0f%n",
+                result.getNodes(), result.getNanos() / 1e9, result.getNodesPerSecond());
+    }
+}
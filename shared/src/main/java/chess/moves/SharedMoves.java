@@ -12,7 +12,7 @@ public class SharedMoves {
         int i = row + ud;
         int j = col + lr;
         while(board.onBoard(i,j)){
-            ChessPosition next = new ChessPosition(i, j);
+            ChessPosition next = ChessPosition.of(i, j);
             if (board.getPiece(next) == null){
                 moves.add(new ChessMove(myPosition, next, null));
                 i += ud;
@@ -30,7 +30,7 @@ public class SharedMoves {
     public void rows(ChessBoard board, ChessPosition myPosition, ChessPiece current, int row, int col, int direction, HashSet<ChessMove> moves){
         int i = row + direction;
         while(board.onBoard(i,col)){
-            ChessPosition next = new ChessPosition(i, col);
+            ChessPosition next = ChessPosition.of(i, col);
             if (board.getPiece(next) == null){
                 moves.add(new ChessMove(myPosition, next, null));
                 i += direction;
@@ -46,7 +46,7 @@ public class SharedMoves {
 
     public void cols(ChessBoard board, ChessPosition myPosition, ChessPiece current, int row, int col, int direction, HashSet<ChessMove> moves){
         for(int i = col + direction; board.onBoard(row, i); i += direction){
-            ChessPosition next = new ChessPosition(row, i);
+            ChessPosition next = ChessPosition.of(row, i);
             if (board.getPiece(next) == null){
                 moves.add(new ChessMove(myPosition, next, null));
             }
@@ -61,7 +61,7 @@ public class SharedMoves {
 
     public void move(ChessBoard board, ChessPosition myPosition, ChessPiece current, int row, int col, HashSet<ChessMove> moves){
         if (board.onBoard(row, col)){
-            ChessPosition next = new ChessPosition(row, col);
+            ChessPosition next = ChessPosition.of(row, col);
             if (board.getPiece(next) == null || board.getPiece(next).getTeamColor() != current.getTeamColor()){
                 moves.add(new ChessMove(myPosition, next, null));
             }
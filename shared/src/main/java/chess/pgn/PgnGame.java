@@ -0,0 +1,78 @@
+package chess.pgn;
+
+import chess.ChessGame;
+import chess.Fen;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One game read from a PGN file: its tag pairs and the SAN moves of the main
+ * line, with comments, variations and annotations removed
+ */
+public class PgnGame {
+    private final Map<String, String> tags;
+    private final List<String> moves;
+    private final String result;
+
+    public PgnGame(Map<String, String> tags, List<String> moves, String result) {
+        this.tags = Collections.unmodifiableMap(tags);
+        this.moves = Collections.unmodifiableList(moves);
+        this.result = result;
+    }
+
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    public List<String> getMoves() {
+        return moves;
+    }
+
+    /**
+     * @return the game termination marker: 1-0, 0-1, 1/2-1/2 or *
+     */
+    public String getResult() {
+        return result;
+    }
+
+    /**
+     * @return a new game in the starting position, taken from the FEN tag
+     * when there is one
+     */
+    public ChessGame startingPosition() {
+        String fen = tags.get("FEN");
+        return fen == null ? new ChessGame() : Fen.parse(fen);
+    }
+
+    /**
+     * Plays the moves from the starting position
+     *
+     * @return the moves packed with {@link chess.moves.Move}, in order
+     * @throws IllegalArgumentException if a move is not legal
+     */
+    public int[] play() {
+        ChessGame game = startingPosition();
+        int[] packed = new int[moves.size()];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = San.parse(game, moves.get(i));
+            game.makeMove(packed[i]);
+        }
+        return packed;
+    }
+
+    /**
+     * Plays the moves from the starting position
+     *
+     * @return the game after the last move, whose move log holds the moves
+     * @throws IllegalArgumentException if a move is not legal
+     */
+    public ChessGame replay() {
+        ChessGame game = startingPosition();
+        for (String move : moves) {
+            game.makeMove(San.parse(game, move));
+        }
+        return game;
+    }
+}
@@ -0,0 +1,184 @@
+package chess.pgn;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads games one at a time from PGN text, so a corpus of any size can be
+ * streamed through in constant memory. Comments, recursive variations,
+ * numeric annotation glyphs and move numbers are skipped. Text is pulled
+ * through a buffer of its own, so the reader needs no buffering.
+ */
+public class PgnReader implements Closeable {
+    private final Reader in;
+    private final char[] buffer = new char[1 << 14];
+    private int position;
+    private int limit;
+
+    /**
+     * @param in PGN text
+     */
+    public PgnReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Streams a PGN file through a file channel, decoding it as UTF-8 with
+     * malformed bytes replaced, so Latin-1 files still read
+     *
+     * @throws IOException if the file cannot be opened
+     */
+    public static PgnReader open(Path file) throws IOException {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        return new PgnReader(Channels.newReader(FileChannel.open(file), decoder, -1));
+    }
+
+    /**
+     * @return the next game, or null at the end of the input
+     * @throws IOException if reading fails
+     */
+    public PgnGame next() throws IOException {
+        Map<String, String> tags = new LinkedHashMap<>();
+        List<String> moves = new ArrayList<>();
+        StringBuilder token = new StringBuilder();
+        boolean started = false;
+        while (true) {
+            int c = read();
+            if (c < 0) {
+                return started ? new PgnGame(tags, moves, "*") : null;
+            }
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            switch (c) {
+                case '[' -> {
+                    started = true;
+                    readTag(tags);
+                }
+                case '{' -> skipUntil('}');
+                case ';' -> skipUntil('\n');
+                case '(' -> skipVariation();
+                case '%' -> skipUntil('\n');
+                default -> {
+                    started = true;
+                    token.setLength(0);
+                    token.append((char) c);
+                    while ((c = peek()) >= 0 && !Character.isWhitespace(c) && "{}();[".indexOf(c) < 0) {
+                        token.append((char) read());
+                    }
+                    String text = token.toString();
+                    if (isResult(text)) {
+                        return new PgnGame(tags, moves, text);
+                    }
+                    String move = stripNumber(text);
+                    if (!move.isEmpty() && move.charAt(0) != '$') {
+                        moves.add(move);
+                    }
+                }
+            }
+        }
+    }
+
+    private void readTag(Map<String, String> tags) throws IOException {
+        StringBuilder name = new StringBuilder();
+        int c;
+        while ((c = read()) >= 0 && c != '"' && c != ']') {
+            if (!Character.isWhitespace(c)) {
+                name.append((char) c);
+            }
+        }
+        StringBuilder value = new StringBuilder();
+        if (c == '"') {
+            while ((c = read()) >= 0 && c != '"') {
+                if (c == '\\') {
+                    c = read();
+                }
+                value.append((char) c);
+            }
+            skipUntil(']');
+        }
+        tags.put(name.toString(), value.toString());
+    }
+
+    private void skipVariation() throws IOException {
+        int depth = 1;
+        int c;
+        while (depth > 0 && (c = read()) >= 0) {
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == '{') {
+                skipUntil('}');
+            }
+        }
+    }
+
+    private void skipUntil(char end) throws IOException {
+        int c;
+        while ((c = read()) >= 0 && c != end) {
+            // skip
+        }
+    }
+
+    private static boolean isResult(String text) {
+        return text.equals("1-0") || text.equals("0-1") || text.equals("1/2-1/2") || text.equals("*");
+    }
+
+    // "12.e4", "12...e5" and "12." become "e4", "e5" and ""
+    private static String stripNumber(String text) {
+        int i = 0;
+        while (i < text.length() && Character.isDigit(text.charAt(i))) {
+            i++;
+        }
+        if (i == 0 || i == text.length() || text.charAt(i) != '.') {
+            return i == text.length() ? "" : text;
+        }
+        while (i < text.length() && text.charAt(i) == '.') {
+            i++;
+        }
+        return text.substring(i);
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private boolean fill() throws IOException {
+        int read;
+        do {
+            read = in.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        position = 0;
+        limit = Math.max(read, 0);
+        return read > 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,118 @@
+package chess.pgn;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessPiece;
+import chess.moves.Move;
+import chess.moves.MoveGenerator;
+
+/**
+ * Standard algebraic notation, e.g. {@code Nbd7}, {@code exd6}, {@code O-O}
+ * or {@code e8=Q+}
+ */
+public final class San {
+
+    private San() {
+
+    }
+
+    /**
+     * Finds the legal move a SAN string names in a position
+     *
+     * @return the move packed with {@link Move}
+     * @throws IllegalArgumentException if the string names no legal move or
+     *                                  more than one
+     */
+    public static int parse(ChessGame game, String san) {
+        String text = san.replaceAll("[+#!?]+$", "").replace("e.p.", "").trim();
+        ChessGame.TeamColor color = game.getTeamTurn();
+        // a PGN's FEN tag can set up any board
+        int[] moves = new int[MoveGenerator.MAX_BOARD_MOVES];
+        int count = game.generateLegalMoves(color, -1L, moves, 0);
+
+        if (text.equals("O-O") || text.equals("0-0") || text.equals("O-O-O") || text.equals("0-0-0")) {
+            int from = (color == ChessGame.TeamColor.WHITE) ? 4 : 60;
+            int to = text.length() == 3 ? from + 2 : from - 2;
+            for (int i = 0; i < count; i++) {
+                if (Move.from(moves[i]) == from && Move.to(moves[i]) == to
+                        && game.getBoard().getPiece(from).getPieceType() == ChessPiece.PieceType.KING) {
+                    return moves[i];
+                }
+            }
+            throw new IllegalArgumentException("illegal castling: " + san);
+        }
+
+        ChessPiece.PieceType type = ChessPiece.PieceType.PAWN;
+        int start = 0;
+        if (!text.isEmpty() && "KQRBN".indexOf(text.charAt(0)) >= 0) {
+            type = pieceType(text.charAt(0));
+            start = 1;
+        }
+        ChessPiece.PieceType promotion = null;
+        int end = text.length();
+        int equals = text.indexOf('=');
+        if (equals >= 0 && equals + 1 < end) {
+            promotion = pieceType(text.charAt(equals + 1));
+            end = equals;
+        } else if (type == ChessPiece.PieceType.PAWN && end > 0 && "QRBN".indexOf(text.charAt(end - 1)) >= 0) {
+            promotion = pieceType(text.charAt(end - 1));
+            end--;
+        }
+        String body = text.substring(start, end).replace("x", "").replace("-", "");
+        if (body.length() < 2) {
+            throw new IllegalArgumentException("bad SAN move: " + san);
+        }
+        int to = square(body.substring(body.length() - 2), san);
+        String hint = body.substring(0, body.length() - 2);
+        int fromFile = -1;
+        int fromRow = -1;
+        for (char c : hint.toCharArray()) {
+            if (c >= 'a' && c <= 'h') {
+                fromFile = c - 'a';
+            } else if (c >= '1' && c <= '8') {
+                fromRow = c - '1';
+            } else {
+                throw new IllegalArgumentException("bad SAN move: " + san);
+            }
+        }
+
+        int found = Move.NONE;
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            int from = Move.from(move);
+            if (Move.to(move) != to || Move.promotion(move) != promotion
+                    || game.getBoard().getPiece(from).getPieceType() != type
+                    || (fromFile >= 0 && (from & 7) != fromFile) || (fromRow >= 0 && (from >>> 3) != fromRow)) {
+                continue;
+            }
+            if (found != Move.NONE) {
+                throw new IllegalArgumentException("ambiguous SAN move: " + san);
+            }
+            found = move;
+        }
+        if (found == Move.NONE) {
+            throw new IllegalArgumentException("illegal SAN move: " + san);
+        }
+        return found;
+    }
+
+    private static ChessPiece.PieceType pieceType(char c) {
+        return switch (c) {
+            case 'K' -> ChessPiece.PieceType.KING;
+            case 'Q' -> ChessPiece.PieceType.QUEEN;
+            case 'R' -> ChessPiece.PieceType.ROOK;
+            case 'B' -> ChessPiece.PieceType.BISHOP;
+            case 'N' -> ChessPiece.PieceType.KNIGHT;
+            default -> throw new IllegalArgumentException("bad SAN piece: " + c);
+        };
+    }
+
+    private static int square(String text, String san) {
+        char file = text.charAt(0);
+        char row = text.charAt(1);
+        if (file < 'a' || file > 'h' || row < '1' || row > '8') {
+            throw new IllegalArgumentException("bad SAN square: " + san);
+        }
+        return ChessBoard.square(row - '0', file - 'a' + 1);
+    }
+}
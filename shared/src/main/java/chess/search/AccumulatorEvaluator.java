@@ -0,0 +1,152 @@
+package chess.search;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessPiece;
+import chess.moves.Move;
+
+/**
+ * Evaluates with a {@link Network}, keeping the feature layer sums of both
+ * teams for every ply of the search. For each move the search plays, the
+ * sums of the ply are carried one ply up with only the rows of the squares
+ * the move touches added or subtracted: two for a quiet move, three for a
+ * capture and four for castling. A leaf then costs just the output layer.
+ * <p>
+ * Between {@link #makeMove} and {@link #unmakeMove} the evaluator trusts that
+ * it is shown the game the moves were played on. Outside a search it compares
+ * position keys and rebuilds the sums from the board when the game has
+ * changed, so it is also correct when used on its own. An instance holds
+ * per-ply state and belongs to one thread.
+ */
+public class AccumulatorEvaluator implements Evaluator {
+    private final Network network;
+    private final int hidden;
+    // per ply: white's sums, then black's
+    private final short[][] sums;
+    // position the sums of ply 0 were built for
+    private long rootKey;
+    private boolean built;
+    private int ply;
+    // moves played past the last ply, each evaluated from scratch into its own
+    // buffer so the last ply's sums are intact when they are taken back
+    private int overflow;
+    private final short[] scratch;
+
+    public AccumulatorEvaluator() {
+        this(Network.standard());
+    }
+
+    public AccumulatorEvaluator(Network network) {
+        this.network = network;
+        this.hidden = network.hidden;
+        this.sums = new short[Search.MAX_PLY + 1][2 * hidden];
+        this.scratch = new short[2 * hidden];
+    }
+
+    @Override
+    public int evaluate(ChessGame game) {
+        sync(game);
+        short[] current = (overflow > 0) ? scratch : sums[ply];
+        short[] weights = network.outputWeights;
+        int clip = network.clip;
+        int us = (game.getTeamTurn() == ChessGame.TeamColor.WHITE) ? 0 : hidden;
+        int them = hidden - us;
+        int sum = network.outputBias;
+        for (int i = 0; i < hidden; i++) {
+            sum += Math.min(Math.max(current[us + i], 0), clip) * weights[i];
+        }
+        for (int i = 0; i < hidden; i++) {
+            sum += Math.min(Math.max(current[them + i], 0), clip) * weights[hidden + i];
+        }
+        return sum / network.scale;
+    }
+
+    @Override
+    public void makeMove(ChessGame game, int move) {
+        if (overflow > 0 || ply + 1 >= sums.length) {
+            overflow++;
+            return;
+        }
+        sync(game);
+        ChessBoard board = game.getBoard();
+        int from = Move.from(move);
+        int to = Move.to(move);
+        ChessPiece piece = board.getPiece(from);
+        ChessPiece captured = board.getPiece(to);
+        ChessPiece.PieceType promotion = Move.promotion(move);
+        ChessPiece placed = promotion == null ? piece : ChessPiece.of(piece.getTeamColor(), promotion);
+        short[] next = sums[ply + 1];
+        carry(sums[ply], next, piece, from, placed, to);
+        ply++;
+
+        if (captured != null) {
+            update(next, captured, to, -1);
+        } else if (piece.getPieceType() == ChessPiece.PieceType.PAWN && (from & 7) != (to & 7)) {
+            // en passant takes the pawn beside the origin
+            int square = (from & ~7) | (to & 7);
+            update(next, board.getPiece(square), square, -1);
+        } else if (piece.getPieceType() == ChessPiece.PieceType.KING && Math.abs(to - from) == 2) {
+            int rookFrom = (to > from) ? from + 3 : from - 4;
+            ChessPiece rook = board.getPiece(rookFrom);
+            carry(next, next, rook, rookFrom, rook, (from + to) / 2);
+        }
+    }
+
+    @Override
+    public void unmakeMove() {
+        if (overflow > 0) {
+            overflow--;
+        } else if (ply > 0) {
+            ply--;
+        }
+    }
+
+    // inside a search the sums follow the moves; at the root check the game is the same one
+    private void sync(ChessGame game) {
+        if (overflow > 0) {
+            refresh(game, scratch);
+        } else if (ply == 0 && (!built || rootKey != game.positionKey())) {
+            refresh(game, sums[0]);
+            rootKey = game.positionKey();
+            built = true;
+        }
+    }
+
+    // target = source with one piece taken off a square and one put on another
+    private void carry(short[] source, short[] target, ChessPiece removed, int from, ChessPiece added, int to) {
+        short[] weights = network.featureWeights;
+        int whiteOff = Network.feature(ChessGame.TeamColor.WHITE, removed, from) * hidden;
+        int whiteOn = Network.feature(ChessGame.TeamColor.WHITE, added, to) * hidden;
+        int blackOff = Network.feature(ChessGame.TeamColor.BLACK, removed, from) * hidden;
+        int blackOn = Network.feature(ChessGame.TeamColor.BLACK, added, to) * hidden;
+        for (int i = 0; i < hidden; i++) {
+            target[i] = (short) (source[i] - weights[whiteOff + i] + weights[whiteOn + i]);
+        }
+        for (int i = 0; i < hidden; i++) {
+            target[hidden + i] = (short) (source[hidden + i] - weights[blackOff + i] + weights[blackOn + i]);
+        }
+    }
+
+    // adds or removes one piece from both teams' sums
+    private void update(short[] target, ChessPiece piece, int square, int sign) {
+        short[] weights = network.featureWeights;
+        int white = Network.feature(ChessGame.TeamColor.WHITE, piece, square) * hidden;
+        int black = Network.feature(ChessGame.TeamColor.BLACK, piece, square) * hidden;
+        for (int i = 0; i < hidden; i++) {
+            target[i] += (short) (sign * weights[white + i]);
+        }
+        for (int i = 0; i < hidden; i++) {
+            target[hidden + i] += (short) (sign * weights[black + i]);
+        }
+    }
+
+    private void refresh(ChessGame game, short[] target) {
+        System.arraycopy(network.featureBias, 0, target, 0, hidden);
+        System.arraycopy(network.featureBias, 0, target, hidden, hidden);
+        ChessBoard board = game.getBoard();
+        for (long occupied = board.occupied(); occupied != 0; occupied &= occupied - 1) {
+            int square = Long.numberOfTrailingZeros(occupied);
+            update(target, board.getPiece(square), square, 1);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package chess.search;
+
+import chess.ChessGame;
+
+/**
+ * Static evaluation of a position for the search
+ */
+public interface Evaluator {
+
+    /**
+     * @return the score in centipawns from the point of view of the team to
+     * move; positive is good for that team
+     */
+    int evaluate(ChessGame game);
+
+    /**
+     * Called by the search just before it plays a move on the game, so an
+     * evaluator can update incremental state; the default does nothing
+     *
+     * @param move the move packed with {@link chess.moves.Move}
+     */
+    default void makeMove(ChessGame game, int move) {
+    }
+
+    /**
+     * Called by the search just after it takes back the last move it played
+     */
+    default void unmakeMove() {
+    }
+}
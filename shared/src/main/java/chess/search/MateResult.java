@@ -0,0 +1,103 @@
+package chess.search;
+
+import chess.ChessMove;
+import chess.moves.Move;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The answer of a {@link MateSolver}
+ */
+public class MateResult {
+    public enum Status {
+        /**
+         * A forced mate was proven
+         */
+        MATE,
+        /**
+         * The defender can avoid mate within the move limit
+         */
+        NO_MATE,
+        /**
+         * The solver ran out of time or nodes before deciding
+         */
+        UNKNOWN
+    }
+
+    private final Status status;
+    private final int[] line;
+    private final int proofSize;
+    private final long nodes;
+    private final long nanos;
+
+    MateResult(Status status, int[] line, int proofSize, long nodes, long nanos) {
+        this.status = status;
+        this.line = line;
+        this.proofSize = proofSize;
+        this.nodes = nodes;
+        this.nanos = nanos;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isMate() {
+        return status == Status.MATE;
+    }
+
+    /**
+     * @return the number of moves of the attacker to mate, or 0 without a mate
+     */
+    public int getMoves() {
+        return (line.length + 1) / 2;
+    }
+
+    /**
+     * @return the mating line packed with {@link Move}, the defender taking
+     * the longest resistance, or an empty array without a mate
+     */
+    public int[] getPackedLine() {
+        return line.clone();
+    }
+
+    public List<ChessMove> getLine() {
+        List<ChessMove> moves = new ArrayList<>(line.length);
+        for (int move : line) {
+            moves.add(Move.toChessMove(move));
+        }
+        return moves;
+    }
+
+    /**
+     * @return the number of positions in the proof tree: one reply of the
+     * attacker and every reply of the defender, down to the mates
+     */
+    public int getProofSize() {
+        return proofSize;
+    }
+
+    /**
+     * @return positions created by the search
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(status.name().toLowerCase().replace('_', ' '));
+        if (isMate()) {
+            text.append(" in ").append(getMoves()).append(" proof ").append(proofSize).append(" line");
+            for (int move : line) {
+                text.append(' ').append(Move.name(move));
+            }
+        }
+        return text.append(" nodes ").append(nodes).append(" time ").append(nanos / 1_000_000).append("ms").toString();
+    }
+}
@@ -0,0 +1,354 @@
+package chess.search;
+
+import chess.ChessGame;
+import chess.moves.Move;
+import chess.moves.MoveGenerator;
+
+import java.util.Arrays;
+
+/**
+ * Proves forced mates with proof-number search. The tree is grown best-first:
+ * every position holds a proof number, the least number of leaves that must
+ * turn out to be mates to prove it, and a disproof number, the least that
+ * must turn out not to be. The attacker needs one good move and the defender
+ * must be beaten after every reply, so each step expands the leaf that most
+ * cheaply settles the root, until the root is proven or disproven.
+ * <p>
+ * Positions live in parallel int arrays of a fixed size, so a solver never
+ * uses more memory than it was built with. Disproven subtrees are never looked
+ * at again and their slots are reused; when the arrays are still full, or the
+ * time is up, the answer is {@link MateResult.Status#UNKNOWN}. Mates in 1, 2, ... N
+ * moves are tried in turn, so a proven mate is also the shortest one.
+ * <p>
+ * One instance should be used by one thread at a time.
+ */
+public class MateSolver {
+    private static final int INFINITY = Integer.MAX_VALUE / 2;
+    private static final int NONE = -1;
+    // the clock is read once per this many expansions
+    private static final int CHECK_INTERVAL = 64;
+    private static final int DEFAULT_NODES = 1 << 18;
+
+    private final int capacity;
+    private final int[] move;
+    private final int[] parent;
+    private final int[] child;
+    private final int[] sibling;
+    private final int[] proof;
+    private final int[] disproof;
+    // plies to mate below a proven node, filled in once the root is proven
+    private final int[] distance;
+    private final int[][] buffers = new int[Search.MAX_PLY][MoveGenerator.MAX_MOVES];
+    private final int[] path = new int[Search.MAX_PLY];
+
+    private ChessGame game;
+    // slots in use, the next never used slot and the head of the freed ones, linked by sibling
+    private int used;
+    private int size;
+    private int free;
+    private long created;
+    private long deadline;
+    private volatile boolean stopped;
+
+    public MateSolver() {
+        this(DEFAULT_NODES);
+    }
+
+    /**
+     * @param capacity most positions held in the tree at once
+     */
+    public MateSolver(int capacity) {
+        this.capacity = capacity;
+        this.move = new int[capacity];
+        this.parent = new int[capacity];
+        this.child = new int[capacity];
+        this.sibling = new int[capacity];
+        this.proof = new int[capacity];
+        this.disproof = new int[capacity];
+        this.distance = new int[capacity];
+    }
+
+    /**
+     * Stops a running solve from another thread; it answers unknown
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Looks for a mate by the team to move
+     *
+     * @param position the game to solve; it is copied, not changed
+     * @param maxMoves most moves of the attacker, the N of mate in N
+     * @param millis   time budget, or 0 for none
+     */
+    public MateResult solve(ChessGame position, int maxMoves, long millis) {
+        long start = System.nanoTime();
+        game = new ChessGame(position);
+        deadline = millis > 0 ? start + millis * 1_000_000 : Long.MAX_VALUE;
+        stopped = false;
+        created = 0;
+        maxMoves = Math.min(maxMoves, Search.MAX_PLY / 2);
+        for (int moves = 1; moves <= maxMoves; moves++) {
+            int root = solve(2 * moves - 1);
+            if (root == NONE) {
+                return new MateResult(MateResult.Status.UNKNOWN, new int[0], 0, created, System.nanoTime() - start);
+            }
+            if (proof[root] == 0) {
+                int[] line = new int[2 * moves - 1];
+                int length = line(root, 0, line);
+                return new MateResult(MateResult.Status.MATE, Arrays.copyOf(line, length), proofSize(root, 0),
+                        created, System.nanoTime() - start);
+            }
+        }
+        return new MateResult(MateResult.Status.NO_MATE, new int[0], 0, created, System.nanoTime() - start);
+    }
+
+    // grows a tree for a mate within the given plies; returns the root, or NONE if it gave up
+    private int solve(int plies) {
+        used = 0;
+        size = 0;
+        free = NONE;
+        int root = allocate(Move.NONE, NONE);
+        if (!evaluate(root, 0, plies)) {
+            return NONE;
+        }
+        int expansions = 0;
+        while (proof[root] != 0 && disproof[root] != 0) {
+            if (++expansions % CHECK_INTERVAL == 0 && (stopped || System.nanoTime() > deadline)) {
+                return NONE;
+            }
+            // walk down to the most proving leaf, playing its moves
+            int node = root;
+            int ply = 0;
+            while (child[node] != NONE) {
+                node = select(node, ply);
+                path[ply++] = node;
+                game.makeMove(move[node]);
+            }
+            boolean expanded = expand(node, ply, plies);
+            for (int i = ply - 1; i >= 0; i--) {
+                game.unmakeMove();
+            }
+            if (!expanded) {
+                return NONE;
+            }
+            for (int i = ply - 1; i >= 0; i--) {
+                int up = parent[path[i]];
+                setNumbers(up, i);
+                if (disproof[up] == 0) {
+                    release(up);
+                }
+            }
+        }
+        return root;
+    }
+
+    // the attacker moves at even plies: take its child with the least proof
+    // number, or the defender's child with the least disproof number
+    private int select(int node, int ply) {
+        int[] numbers = (ply & 1) == 0 ? proof : disproof;
+        int best = child[node];
+        for (int c = sibling[best]; c != NONE; c = sibling[c]) {
+            if (numbers[c] < numbers[best]) {
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    private boolean expand(int node, int ply, int plies) {
+        int[] moves = buffers[ply];
+        int count = game.generateLegalMoves(game.getTeamTurn(), -1L, moves, 0);
+        // children that must mate next move also hold that mate
+        int needed = (ply + 1 == plies - 1) ? 2 * count : count;
+        if (used + needed > capacity) {
+            return false;
+        }
+        boolean attacker = (ply & 1) == 0;
+        int last = NONE;
+        for (int i = 0; i < count; i++) {
+            int c = allocate(moves[i], node);
+            game.makeMove(moves[i]);
+            boolean held = evaluate(c, ply + 1, plies);
+            game.unmakeMove();
+            if (!held) {
+                return false;
+            }
+            if (attacker && disproof[c] == 0) {
+                // a move that cannot mate never matters again
+                recycle(c);
+                continue;
+            }
+            if (last == NONE) {
+                child[node] = c;
+            } else {
+                sibling[last] = c;
+            }
+            last = c;
+        }
+        if (last == NONE) {
+            proof[node] = INFINITY;
+            disproof[node] = 0;
+            return true;
+        }
+        setNumbers(node, ply);
+        if (disproof[node] == 0) {
+            release(node);
+        }
+        return true;
+    }
+
+    // initial numbers of a new position, with the game in that position;
+    // false if its mating move found no free slot
+    private boolean evaluate(int node, int ply, int plies) {
+        int count = game.generateLegalMoves(game.getTeamTurn(), -1L, buffers[Math.min(ply, buffers.length - 1)], 0);
+        boolean attacker = (ply & 1) == 0;
+        if (count == 0) {
+            boolean mate = !attacker && game.isInCheck(game.getTeamTurn());
+            proof[node] = mate ? 0 : INFINITY;
+            disproof[node] = mate ? INFINITY : 0;
+        } else if (ply >= plies || (attacker && game.isFiftyMoveDraw())) {
+            // the attacker has no moves left to mate with
+            proof[node] = INFINITY;
+            disproof[node] = 0;
+        } else if (attacker && ply == plies - 1) {
+            // the last move must mate; settle it here rather than growing a leaf per move
+            int mate = mateInOne(buffers[ply], count, ply + 1);
+            proof[node] = mate == Move.NONE ? INFINITY : 0;
+            disproof[node] = mate == Move.NONE ? 0 : INFINITY;
+            if (mate != Move.NONE) {
+                if (used == capacity) {
+                    return false;
+                }
+                int c = allocate(mate, node);
+                child[node] = c;
+                proof[c] = 0;
+                disproof[c] = INFINITY;
+            }
+        } else if (attacker) {
+            proof[node] = 1;
+            disproof[node] = count;
+        } else {
+            // the fewer replies the defender has, the closer the mate
+            proof[node] = count;
+            disproof[node] = 1;
+        }
+        return true;
+    }
+
+    private int mateInOne(int[] moves, int count, int ply) {
+        for (int i = 0; i < count; i++) {
+            game.makeMove(moves[i]);
+            boolean mate = game.isInCheck(game.getTeamTurn())
+                    && game.generateLegalMoves(game.getTeamTurn(), -1L, buffers[ply], 0) == 0;
+            game.unmakeMove();
+            if (mate) {
+                return moves[i];
+            }
+        }
+        return Move.NONE;
+    }
+
+    private void setNumbers(int node, int ply) {
+        boolean attacker = (ply & 1) == 0;
+        int min = INFINITY;
+        int sum = 0;
+        for (int c = child[node]; c != NONE; c = sibling[c]) {
+            min = Math.min(min, attacker ? proof[c] : disproof[c]);
+            sum = Math.min(INFINITY, sum + (attacker ? disproof[c] : proof[c]));
+        }
+        proof[node] = attacker ? min : sum;
+        disproof[node] = attacker ? sum : min;
+    }
+
+    private int allocate(int packed, int up) {
+        int node;
+        if (free != NONE) {
+            node = free;
+            free = sibling[node];
+        } else {
+            node = size++;
+        }
+        used++;
+        created++;
+        move[node] = packed;
+        parent[node] = up;
+        child[node] = NONE;
+        sibling[node] = NONE;
+        distance[node] = NONE;
+        return node;
+    }
+
+    // frees every position below a node
+    private void release(int node) {
+        for (int c = child[node]; c != NONE; ) {
+            int next = sibling[c];
+            release(c);
+            recycle(c);
+            c = next;
+        }
+        child[node] = NONE;
+    }
+
+    private void recycle(int node) {
+        sibling[node] = free;
+        free = node;
+        used--;
+    }
+
+    // plies to mate in the proof tree below a proven node
+    private int distance(int node, int ply) {
+        if (distance[node] != NONE) {
+            return distance[node];
+        }
+        boolean attacker = (ply & 1) == 0;
+        int best = child[node] == NONE ? 0 : attacker ? INFINITY : 0;
+        for (int c = child[node]; c != NONE; c = sibling[c]) {
+            if (proof[c] == 0) {
+                int d = 1 + distance(c, ply + 1);
+                best = attacker ? Math.min(best, d) : Math.max(best, d);
+            }
+        }
+        distance[node] = best;
+        return best;
+    }
+
+    // the fastest mate against the longest defence
+    private int line(int node, int ply, int[] line) {
+        int length = 0;
+        while (child[node] != NONE) {
+            int target = distance(node, ply) - 1;
+            int next = NONE;
+            for (int c = child[node]; c != NONE && next == NONE; c = sibling[c]) {
+                if (proof[c] == 0 && distance(c, ply + 1) == target) {
+                    next = c;
+                }
+            }
+            line[length++] = move[next];
+            node = next;
+            ply++;
+        }
+        return length;
+    }
+
+    private int proofSize(int node, int ply) {
+        if (child[node] == NONE) {
+            return 1;
+        }
+        if ((ply & 1) != 0) {
+            int total = 1;
+            for (int c = child[node]; c != NONE; c = sibling[c]) {
+                total += proofSize(c, ply + 1);
+            }
+            return total;
+        }
+        int target = distance(node, ply) - 1;
+        for (int c = child[node]; c != NONE; c = sibling[c]) {
+            if (proof[c] == 0 && distance(c, ply + 1) == target) {
+                return 1 + proofSize(c, ply + 1);
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,179 @@
+package chess.search;
+
+import chess.ChessGame;
+import chess.ChessPiece;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The quantized weights of an efficiently updatable evaluation network, read
+ * by {@link AccumulatorEvaluator}. There are 768 inputs, one for each piece
+ * kind on each square, seen from one team: the team's own six kinds come
+ * first, then the enemy's, and squares are flipped for black so that both
+ * teams see themselves moving up the board. A feature layer maps the inputs
+ * to {@code hidden} int16 sums per team, which are clipped to
+ * {@code [0, clip]} and fed with the side to move first into one output
+ * neuron. The output divided by {@code scale} is the score in centipawns.
+ * <p>
+ * The file is big-endian: the magic number, the hidden size, clip and scale
+ * as ints, then the feature weights input by input, the feature biases, the
+ * output weights as shorts and the output bias as an int.
+ */
+public final class Network {
+    public static final int INPUTS = 768;
+
+    private static final int MAGIC = 0x4E4E5545;
+    // hidden size of the network built from the piece-square tables
+    private static final int STANDARD_HIDDEN = 32;
+
+    private static volatile Network standard;
+
+    final int hidden;
+    final int clip;
+    final int scale;
+    // INPUTS rows of hidden weights
+    final short[] featureWeights;
+    final short[] featureBias;
+    // hidden weights for the side to move, then hidden for the other side
+    final short[] outputWeights;
+    final int outputBias;
+
+    Network(int hidden, int clip, int scale, short[] featureWeights, short[] featureBias,
+            short[] outputWeights, int outputBias) {
+        if (hidden <= 0 || featureWeights.length != INPUTS * hidden || featureBias.length != hidden
+                || outputWeights.length != 2 * hidden || scale <= 0) {
+            throw new IllegalArgumentException("inconsistent network shape");
+        }
+        this.hidden = hidden;
+        this.clip = clip;
+        this.scale = scale;
+        this.featureWeights = featureWeights;
+        this.featureBias = featureBias;
+        this.outputWeights = outputWeights;
+        this.outputBias = outputBias;
+    }
+
+    /**
+     * @return the input for a piece seen from one team
+     */
+    public static int feature(ChessGame.TeamColor perspective, ChessPiece piece, int square) {
+        int kind = piece.getPieceType().ordinal() + (piece.getTeamColor() == perspective ? 0 : 6);
+        return kind * 64 + (perspective == ChessGame.TeamColor.WHITE ? square : square ^ 56);
+    }
+
+    public int getHidden() {
+        return hidden;
+    }
+
+    /**
+     * @return the network named by the {@code chess.network} system property,
+     * or else the one from {@link #fromPieceSquareTables()}
+     */
+    public static Network standard() {
+        if (standard == null) {
+            synchronized (Network.class) {
+                if (standard == null) {
+                    String path = System.getProperty("chess.network");
+                    try {
+                        standard = path != null ? load(Path.of(path)) : fromPieceSquareTables();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("cannot load network " + path, e);
+                    }
+                }
+            }
+        }
+        return standard;
+    }
+
+    /**
+     * Builds a network that scores exactly as {@link PieceSquareEvaluator}:
+     * one hidden neuron sums the team's material and another its
+     * piece-square bonuses, offset by a bias that keeps it above zero. The
+     * remaining neurons are zero, so a trained network of the same shape can
+     * replace it.
+     */
+    public static Network fromPieceSquareTables() {
+        int hidden = STANDARD_HIDDEN;
+        short[] weights = new short[INPUTS * hidden];
+        for (ChessPiece.PieceType type : ChessPiece.PieceType.values()) {
+            for (int square = 0; square < 64; square++) {
+                int input = type.ordinal() * 64 + square;
+                weights[input * hidden] = (short) PieceSquareEvaluator.value(type);
+                weights[input * hidden + 1] = (short) PieceSquareEvaluator.bonus(type, square);
+            }
+        }
+        short[] bias = new short[hidden];
+        bias[1] = 1024;
+        short[] output = new short[2 * hidden];
+        output[0] = 1;
+        output[1] = 1;
+        output[hidden] = -1;
+        output[hidden + 1] = -1;
+        return new Network(hidden, Short.MAX_VALUE, 1, weights, bias, output, 0);
+    }
+
+    public static Network load(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return read(in);
+        }
+    }
+
+    public static Network read(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("not a network file");
+        }
+        int hidden = in.readInt();
+        int clip = in.readInt();
+        int scale = in.readInt();
+        if (hidden <= 0 || hidden > 4096) {
+            throw new IOException("bad hidden size " + hidden);
+        }
+        short[] weights = readShorts(in, INPUTS * hidden);
+        short[] bias = readShorts(in, hidden);
+        short[] output = readShorts(in, 2 * hidden);
+        return new Network(hidden, clip, scale, weights, bias, output, in.readInt());
+    }
+
+    private static short[] readShorts(DataInputStream in, int count) throws IOException {
+        short[] values = new short[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = in.readShort();
+        }
+        return values;
+    }
+
+    public void write(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+        out.writeInt(MAGIC);
+        out.writeInt(hidden);
+        out.writeInt(clip);
+        out.writeInt(scale);
+        for (short[] values : new short[][]{featureWeights, featureBias, outputWeights}) {
+            for (short value : values) {
+                out.writeShort(value);
+            }
+        }
+        out.writeInt(outputBias);
+        out.flush();
+    }
+
+    /**
+     * Usage: {@code Network <file>} writes the network built from the
+     * piece-square tables, as a starting point for training
+     */
+    public static void main(String[] args) throws IOException {
+        try (OutputStream out = Files.newOutputStream(Path.of(args[0]))) {
+            fromPieceSquareTables().write(out);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package chess.search;
+
+import chess.ChessGame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Best-move analysis on several cores with Lazy SMP: every thread runs an
+ * ordinary {@link Search} of the same position and they share nothing but
+ * one {@link TranspositionTable}. Helper threads start on staggered depths
+ * ahead of the main thread, so they fill the table with results the main
+ * thread reaches later. The
+ * main thread alone decides the limits and the result; when it finishes the
+ * helpers are stopped.
+ * <p>
+ * One instance can serve many requests at once. Each request gets its own
+ * searches and picks its own thread count; the worker threads are pooled.
+ */
+public class ParallelSearch implements AutoCloseable {
+    private final TranspositionTable table;
+    private final Supplier<Evaluator> evaluators;
+    private final int maxThreads;
+    private final ExecutorService pool;
+
+    /**
+     * @param maxThreads most threads one request may use
+     * @param megabytes  size of the shared transposition table
+     */
+    public ParallelSearch(int maxThreads, int megabytes) {
+        this(maxThreads, new TranspositionTable(megabytes), PieceSquareEvaluator::new);
+    }
+
+    /**
+     * @param evaluators makes an evaluator for each thread, so evaluators
+     *                   with incremental state are never shared
+     */
+    public ParallelSearch(int maxThreads, TranspositionTable table, Supplier<Evaluator> evaluators) {
+        this.maxThreads = Math.max(1, maxThreads);
+        this.table = table;
+        this.evaluators = evaluators;
+        this.pool = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "search-helper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    public SearchResult search(ChessGame position, SearchLimits limits, int threads) {
+        return search(position, limits, threads, null);
+    }
+
+    /**
+     * Searches the position on the calling thread plus helper threads
+     *
+     * @param threads  total threads for this request, capped at the maximum
+     * @param listener called with each completed iteration of the main
+     *                 thread, or null
+     * @return the main thread's result, with the nodes of every thread
+     */
+    public SearchResult search(ChessGame position, SearchLimits limits, int threads, Consumer<SearchResult> listener) {
+        long start = System.nanoTime();
+        threads = Math.max(1, Math.min(threads, maxThreads));
+        table.newSearch();
+        ChessGame game = new ChessGame(position);
+
+        List<Search> helpers = new ArrayList<>();
+        List<Future<SearchResult>> futures = new ArrayList<>();
+        // helpers have no node or time budget of their own; they run until stopped
+        SearchLimits helperLimits = new SearchLimits(limits.getDepth() + 1, 0, 0);
+        for (int i = 1; i < threads; i++) {
+            Search helper = new Search(evaluators.get(), table);
+            int startDepth = startDepth(i);
+            helpers.add(helper);
+            futures.add(pool.submit(() -> helper.search(game, helperLimits, null, startDepth)));
+        }
+
+        Search main = new Search(evaluators.get(), table);
+        SearchResult result = null;
+        long nodes;
+        try {
+            result = main.search(game, limits, listener, 1);
+        } finally {
+            // also when the main search fails, so no helper is left running
+            for (Search helper : helpers) {
+                helper.stop();
+            }
+            nodes = main.getNodes();
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    futures.get(i).get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    if (result != null) {
+                        throw new IllegalStateException("search helper failed", e.getCause());
+                    }
+                }
+                nodes += helpers.get(i).getNodes();
+            }
+        }
+        return result.withNodes(nodes, System.nanoTime() - start);
+    }
+
+    /**
+     * Helper i starts 1 + the number of trailing zero bits of i plies deeper
+     * than depth 1: depths 2, 3, 2, 4, 2, 3, 2, 5 and so on. Half the helpers
+     * work one depth ahead of the main thread and each further depth gets
+     * half as many, so helpers spread over the depths the main thread
+     * reaches next instead of pairing up on two of them
+     */
+    static int startDepth(int helper) {
+        return 2 + Integer.numberOfTrailingZeros(helper);
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,411 @@
+package chess.search;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessPiece;
+import chess.Fen;
+import chess.endgame.Bitbases;
+import chess.endgame.Outcome;
+import chess.moves.Move;
+import chess.moves.MoveGenerator;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Iterative deepening alpha-beta search with principal variation search,
+ * a check extension and a captures-only quiescence search at the leaves.
+ * Moves are tried in the order: the previous iteration's best move at the
+ * root, captures and promotions by most valuable victim and least valuable
+ * attacker, the two killer moves of the ply, then quiet moves by their
+ * history score. A {@link TranspositionTable} supplies the best move found
+ * earlier for a position and cuts off non-PV nodes whose stored result is
+ * deep enough. Positions covered by the endgame bitbases are scored as a
+ * draw at once, and as a known win or loss at the horizon.
+ * <p>
+ * A search works on its own copy of the game and keeps its buffers between
+ * calls, so one instance should be reused by one thread; use a separate
+ * instance per concurrent game.
+ */
+public class Search {
+    public static final int MAX_PLY = 128;
+    public static final int MATE = 30000;
+    static final int INFINITY = 32000;
+    // bitbase wins score above any material balance but below every mate
+    static final int KNOWN_WIN = 10000;
+
+    // the limits are checked once per this many nodes
+    private static final int CHECK_INTERVAL = 1024;
+
+    private static final int BEST_SCORE = 3_000_000;
+    private static final int CAPTURE_SCORE = 2_000_000;
+    private static final int KILLER_SCORE = 1_000_000;
+
+    // default table size for a search that is not given one
+    private static final int TABLE_MEGABYTES = 16;
+
+    private final Evaluator evaluator;
+    private final TranspositionTable table;
+    private final int[][] moves = new int[MAX_PLY][MoveGenerator.MAX_MOVES];
+    private final int[][] scores = new int[MAX_PLY][MoveGenerator.MAX_MOVES];
+    private final int[][] killers = new int[MAX_PLY][2];
+    private final int[][] history = new int[12][64];
+    private final int[][] pv = new int[MAX_PLY][MAX_PLY];
+    private final int[] pvLength = new int[MAX_PLY];
+
+    private ChessGame game;
+    private ChessBoard board;
+    private int rootBest;
+    private long nodes;
+    private long nodeLimit;
+    private long deadline;
+    private volatile boolean stopped;
+
+    public Search() {
+        this(new PieceSquareEvaluator());
+    }
+
+    public Search(Evaluator evaluator) {
+        this(evaluator, new TranspositionTable(TABLE_MEGABYTES));
+    }
+
+    /**
+     * @param table a transposition table, which may be shared with other
+     *              searches running at the same time
+     */
+    public Search(Evaluator evaluator, TranspositionTable table) {
+        this.evaluator = evaluator;
+        this.table = table;
+    }
+
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    /**
+     * @return the nodes visited by the last or current search
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Stops a running search from another thread; it returns the result of
+     * the deepest completed iteration
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    public SearchResult search(ChessGame position, SearchLimits limits) {
+        return search(position, limits, null);
+    }
+
+    /**
+     * Searches the position for the team to move
+     *
+     * @param position the game to search; it is copied, not changed
+     * @param limits   depth, node and time budgets
+     * @param listener called with the result of each completed iteration, or
+     *                 null
+     * @return the result of the deepest completed iteration
+     */
+    public SearchResult search(ChessGame position, SearchLimits limits, Consumer<SearchResult> listener) {
+        table.newSearch();
+        stopped = false;
+        return search(position, limits, listener, 1);
+    }
+
+    /**
+     * The search itself. It neither starts a new table generation, so helper
+     * threads of a {@link ParallelSearch} share the main thread's, nor clears
+     * a stop requested before it began
+     *
+     * @param startDepth depth of the first iteration
+     */
+    SearchResult search(ChessGame position, SearchLimits limits, Consumer<SearchResult> listener, int startDepth) {
+        long start = System.nanoTime();
+        game = new ChessGame(position);
+        board = game.getBoard();
+        nodes = 0;
+        nodeLimit = limits.getNodes() > 0 ? limits.getNodes() : Long.MAX_VALUE;
+        deadline = limits.getMillis() > 0 ? start + limits.getMillis() * 1_000_000 : Long.MAX_VALUE;
+        rootBest = Move.NONE;
+        for (int[] killer : killers) {
+            Arrays.fill(killer, Move.NONE);
+        }
+        for (int[] scores : history) {
+            Arrays.fill(scores, 0);
+        }
+
+        SearchResult result = null;
+        for (int depth = Math.min(startDepth, limits.getDepth()); depth <= limits.getDepth(); depth++) {
+            int score = negamax(depth, 0, -INFINITY, INFINITY);
+            if (stopped && result != null) {
+                break;
+            }
+            int[] line = Arrays.copyOf(pv[0], pvLength[0]);
+            if (line.length == 0 && game.generateLegalMoves(game.getTeamTurn(), -1L, moves[0], 0) > 0) {
+                // stopped before the first iteration finished
+                line = new int[]{moves[0][0]};
+            }
+            rootBest = line.length > 0 ? line[0] : Move.NONE;
+            result = new SearchResult(line, score, depth, nodes, System.nanoTime() - start);
+            if (listener != null) {
+                listener.accept(result);
+            }
+            if (stopped || Math.abs(score) >= MATE - MAX_PLY) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private int negamax(int depth, int ply, int alpha, int beta) {
+        pvLength[ply] = 0;
+        ChessGame.TeamColor turn = game.getTeamTurn();
+        if (ply > 0 && (game.isFiftyMoveDraw() || game.isRepetition())) {
+            return 0;
+        }
+        if (ply >= MAX_PLY - 1) {
+            return evaluator.evaluate(game);
+        }
+        Outcome outcome = (ply > 0) ? game.adjudicate() : Outcome.UNKNOWN;
+        if (outcome == Outcome.DRAW) {
+            return 0;
+        }
+        boolean inCheck = game.isInCheck(turn);
+        if (inCheck) {
+            depth++;
+        }
+        if (depth <= 0) {
+            if (outcome != Outcome.UNKNOWN) {
+                // the evaluation still tells the search which wins are closer
+                return (outcome == Outcome.WIN ? KNOWN_WIN : -KNOWN_WIN) + evaluator.evaluate(game);
+            }
+            return quiesce(ply, alpha, beta);
+        }
+        if (countNode()) {
+            return 0;
+        }
+
+        long key = game.positionKey();
+        long entry = table.probe(key);
+        int hashMove = TranspositionTable.move(entry);
+        if (entry != 0 && ply > 0 && beta - alpha == 1 && TranspositionTable.depth(entry) >= depth) {
+            int score = fromTable(TranspositionTable.score(entry), ply);
+            int bound = TranspositionTable.bound(entry);
+            if (bound == TranspositionTable.EXACT
+                    || (bound == TranspositionTable.LOWER && score >= beta)
+                    || (bound == TranspositionTable.UPPER && score <= alpha)) {
+                return score;
+            }
+        }
+
+        int[] list = moves[ply];
+        int count = game.generateLegalMoves(turn, -1L, list, 0);
+        if (count == 0) {
+            return inCheck ? -MATE + ply : 0;
+        }
+        scoreMoves(ply, count, (ply == 0 && rootBest != Move.NONE) ? rootBest : hashMove);
+
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestMove = Move.NONE;
+        for (int i = 0; i < count; i++) {
+            int move = pickNext(ply, i, count);
+            boolean quiet = isQuiet(move);
+            evaluator.makeMove(game, move);
+            game.makeMove(move);
+            int score;
+            if (i == 0) {
+                score = -negamax(depth - 1, ply + 1, -beta, -alpha);
+            } else {
+                score = -negamax(depth - 1, ply + 1, -alpha - 1, -alpha);
+                if (score > alpha && score < beta) {
+                    score = -negamax(depth - 1, ply + 1, -beta, -alpha);
+                }
+            }
+            game.unmakeMove();
+            evaluator.unmakeMove();
+            if (stopped) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                bestMove = move;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePv(ply, move);
+                    if (score >= beta) {
+                        if (quiet) {
+                            rememberQuiet(ply, depth, move);
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+        int bound = best >= beta ? TranspositionTable.LOWER
+                : best > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER;
+        table.store(key, bound == TranspositionTable.UPPER ? Move.NONE : bestMove, toTable(best, ply), depth, bound);
+        return best;
+    }
+
+    // mate scores are stored as distance from the node, not from the root
+    private static int toTable(int score, int ply) {
+        if (score >= MATE - MAX_PLY) {
+            return score + ply;
+        }
+        return score <= -MATE + MAX_PLY ? score - ply : score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score >= MATE - MAX_PLY) {
+            return score - ply;
+        }
+        return score <= -MATE + MAX_PLY ? score + ply : score;
+    }
+
+    private int quiesce(int ply, int alpha, int beta) {
+        pvLength[ply] = 0;
+        if (countNode()) {
+            return 0;
+        }
+        int standPat = evaluator.evaluate(game);
+        if (ply >= MAX_PLY - 1 || standPat >= beta) {
+            return standPat;
+        }
+        if (standPat > alpha) {
+            alpha = standPat;
+        }
+
+        int[] list = moves[ply];
+        int all = game.generateLegalMoves(game.getTeamTurn(), -1L, list, 0);
+        int count = 0;
+        for (int i = 0; i < all; i++) {
+            if (!isQuiet(list[i])) {
+                list[count++] = list[i];
+            }
+        }
+        scoreMoves(ply, count, Move.NONE);
+
+        int best = standPat;
+        for (int i = 0; i < count; i++) {
+            int move = pickNext(ply, i, count);
+            evaluator.makeMove(game, move);
+            game.makeMove(move);
+            int score = -quiesce(ply + 1, -beta, -alpha);
+            game.unmakeMove();
+            evaluator.unmakeMove();
+            if (stopped) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePv(ply, move);
+                    if (score >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    // counts a node and returns true if a limit has run out
+    private boolean countNode() {
+        nodes++;
+        if (nodes >= nodeLimit || ((nodes & (CHECK_INTERVAL - 1)) == 0 && System.nanoTime() > deadline)) {
+            stopped = true;
+        }
+        return stopped;
+    }
+
+    private boolean isQuiet(int move) {
+        int to = Move.to(move);
+        if (board.getPiece(to) != null || Move.promotionCode(move) != 0) {
+            return false;
+        }
+        return to != game.getEnPassantSquare()
+                || board.getPiece(Move.from(move)).getPieceType() != ChessPiece.PieceType.PAWN;
+    }
+
+    private void scoreMoves(int ply, int count, int best) {
+        int[] list = moves[ply];
+        int[] score = scores[ply];
+        for (int i = 0; i < count; i++) {
+            int move = list[i];
+            ChessPiece piece = board.getPiece(Move.from(move));
+            if (move == best) {
+                score[i] = BEST_SCORE;
+            } else if (!isQuiet(move)) {
+                ChessPiece victim = board.getPiece(Move.to(move));
+                int gain = (victim == null ? 100 : PieceSquareEvaluator.value(victim.getPieceType()))
+                        + (Move.promotionCode(move) == 0 ? 0 : PieceSquareEvaluator.value(Move.promotion(move)));
+                score[i] = CAPTURE_SCORE + gain * 16 - PieceSquareEvaluator.value(piece.getPieceType()) / 16;
+            } else if (move == killers[ply][0]) {
+                score[i] = KILLER_SCORE + 1;
+            } else if (move == killers[ply][1]) {
+                score[i] = KILLER_SCORE;
+            } else {
+                score[i] = history[piece.index()][Move.to(move)];
+            }
+        }
+    }
+
+    // selection sort one step: moves the best remaining move to index i
+    private int pickNext(int ply, int i, int count) {
+        int[] list = moves[ply];
+        int[] score = scores[ply];
+        int best = i;
+        for (int j = i + 1; j < count; j++) {
+            if (score[j] > score[best]) {
+                best = j;
+            }
+        }
+        int move = list[best];
+        list[best] = list[i];
+        list[i] = move;
+        int s = score[best];
+        score[best] = score[i];
+        score[i] = s;
+        return move;
+    }
+
+    private void rememberQuiet(int ply, int depth, int move) {
+        if (killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+        int[] scores = history[board.getPiece(Move.from(move)).index()];
+        scores[Move.to(move)] = Math.min(scores[Move.to(move)] + depth * depth, KILLER_SCORE - 1);
+    }
+
+    private void updatePv(int ply, int move) {
+        int[] line = pv[ply];
+        line[0] = move;
+        int length = pvLength[ply + 1];
+        System.arraycopy(pv[ply + 1], 0, line, 1, length);
+        pvLength[ply] = length + 1;
+    }
+
+    /**
+     * Searches a position and prints each iteration:
+     * {@code Search millis [threads] [fen]}
+     */
+    public static void main(String[] args) {
+        long millis = args.length > 0 ? Long.parseLong(args[0]) : 5000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        String fen = args.length > 2 ? String.join(" ", Arrays.copyOfRange(args, 2, args.length)) : Fen.START;
+        Bitbases.load();
+        try (ParallelSearch search = new ParallelSearch(threads, TABLE_MEGABYTES * threads)) {
+            SearchResult result = search.search(Fen.parse(fen), SearchLimits.millis(millis), threads, System.out::println);
+            System.out.printf("nodes %d nps %.0f table hits %.1f%% occupancy %.1f%%%n", result.getNodes(),
+                    result.getNodesPerSecond(), search.getTable().getHitRate() * 100, search.getTable().getOccupancy() * 100);
+            System.out.println("bestmove " + (result.getPackedMove() == Move.NONE ? "(none)" : Move.name(result.getPackedMove())));
+        }
+    }
+}
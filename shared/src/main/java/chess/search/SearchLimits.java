@@ -0,0 +1,47 @@
+package chess.search;
+
+/**
+ * Hard budgets for one search. The search stops at whichever runs out first
+ * and returns the result of the deepest completed iteration. A limit of 0
+ * means no limit for nodes and time.
+ */
+public class SearchLimits {
+    private final int depth;
+    private final long nodes;
+    private final long millis;
+
+    /**
+     * @param depth  deepest iteration to search, in plies
+     * @param nodes  most nodes to visit, 0 for no limit
+     * @param millis most wall-clock time to use, 0 for no limit
+     */
+    public SearchLimits(int depth, long nodes, long millis) {
+        this.depth = Math.max(1, Math.min(depth, Search.MAX_PLY - 1));
+        this.nodes = nodes;
+        this.millis = millis;
+    }
+
+    public static SearchLimits depth(int depth) {
+        return new SearchLimits(depth, 0, 0);
+    }
+
+    public static SearchLimits nodes(long nodes) {
+        return new SearchLimits(Search.MAX_PLY, nodes, 0);
+    }
+
+    public static SearchLimits millis(long millis) {
+        return new SearchLimits(Search.MAX_PLY, 0, millis);
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+}
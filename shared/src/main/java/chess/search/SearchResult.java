@@ -0,0 +1,110 @@
+package chess.search;
+
+import chess.ChessMove;
+import chess.moves.Move;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The outcome of one completed iteration of a search
+ */
+public class SearchResult {
+    private final int[] pv;
+    private final int score;
+    private final int depth;
+    private final long nodes;
+    private final long nanos;
+
+    SearchResult(int[] pv, int score, int depth, long nodes, long nanos) {
+        this.pv = pv;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.nanos = nanos;
+    }
+
+    /**
+     * @return this result with the node count and time of a whole parallel
+     * search
+     */
+    SearchResult withNodes(long nodes, long nanos) {
+        return new SearchResult(pv, score, depth, nodes, nanos);
+    }
+
+    /**
+     * @return the best move packed with {@link Move}, or {@link Move#NONE} if
+     * the team to move has no legal move
+     */
+    public int getPackedMove() {
+        return pv.length == 0 ? Move.NONE : pv[0];
+    }
+
+    /**
+     * @return the best move, or null if the team to move has no legal move
+     */
+    public ChessMove getMove() {
+        return pv.length == 0 ? null : Move.toChessMove(pv[0]);
+    }
+
+    /**
+     * @return the expected line of play, best move first
+     */
+    public List<ChessMove> getPrincipalVariation() {
+        List<ChessMove> line = new ArrayList<>(pv.length);
+        for (int move : pv) {
+            line.add(Move.toChessMove(move));
+        }
+        return line;
+    }
+
+    /**
+     * @return the score in centipawns for the team to move
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * @return true if the score is a forced mate for either team
+     */
+    public boolean isMate() {
+        return Math.abs(score) >= Search.MATE - Search.MAX_PLY;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public double getNodesPerSecond() {
+        return nanos == 0 ? 0 : nodes * 1e9 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder();
+        out.append("depth ").append(depth);
+        if (isMate()) {
+            int plies = Search.MATE - Math.abs(score);
+            out.append(" score mate ").append(score > 0 ? (plies + 1) / 2 : -(plies / 2));
+        } else {
+            out.append(" score cp ").append(score);
+        }
+        out.append(" nodes ").append(nodes)
+                .append(" nps ").append((long) getNodesPerSecond())
+                .append(" time ").append(nanos / 1_000_000)
+                .append(" pv");
+        for (int move : pv) {
+            out.append(' ').append(Move.name(move));
+        }
+        return out.toString();
+    }
+}
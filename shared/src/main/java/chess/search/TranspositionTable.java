@@ -0,0 +1,191 @@
+package chess.search;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed-size hash table of search results keyed by position key, held in
+ * one {@code long[]} so it costs no objects per entry and can be shared by
+ * any number of search threads without locks.
+ * <p>
+ * Each entry is two longs: the key XOR the data, then the data. Threads write
+ * both halves without synchronization, so a reader may see halves from two
+ * different writes; un-XORing the first half with the second then no longer
+ * gives the probed key and the entry is treated as a miss. Entries are
+ * grouped into buckets of four, one 64-byte cache line. A store replaces the
+ * entry for the same position if there is one, otherwise the entry that is
+ * shallowest once entries from older searches are marked down by their age.
+ * <p>
+ * The data packs the move in bits 0-15, the score in bits 16-31, the depth
+ * in bits 32-39, the bound in bits 40-41 and the search generation in bits
+ * 42-47. A bound of 0 marks an empty entry, so valid data is never 0.
+ */
+public class TranspositionTable {
+    public static final int EXACT = 1;
+    public static final int LOWER = 2;
+    public static final int UPPER = 3;
+
+    private static final int BUCKET = 4;
+    private static final int GENERATIONS = 64;
+    // buckets sampled by getOccupancy()
+    private static final int SAMPLE = 1000;
+
+    private final long[] table;
+    private final int bucketMask;
+    private volatile int generation;
+
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+
+    /**
+     * @param megabytes memory budget; the table uses the largest power of two
+     *                  number of buckets that fits, and at least one bucket
+     */
+    public TranspositionTable(int megabytes) {
+        long bytes = Math.max(1L, megabytes) << 20;
+        long buckets = Long.highestOneBit(Math.max(1L, bytes / (BUCKET * 16)));
+        buckets = Math.min(buckets, 1L << 26);
+        this.table = new long[(int) (buckets * BUCKET * 2)];
+        this.bucketMask = (int) buckets - 1;
+    }
+
+    /**
+     * Starts a new search, so entries from earlier searches age and are
+     * replaced first
+     */
+    public void newSearch() {
+        generation = (generation + 1) & (GENERATIONS - 1);
+    }
+
+    /**
+     * Empties the table and resets the counters
+     */
+    public void clear() {
+        Arrays.fill(table, 0L);
+        probes.reset();
+        hits.reset();
+        stores.reset();
+    }
+
+    /**
+     * @return the data stored for this key, or 0 if there is none
+     */
+    public long probe(long key) {
+        probes.increment();
+        int base = bucket(key);
+        for (int i = base; i < base + BUCKET * 2; i += 2) {
+            long data = table[i + 1];
+            if ((table[i] ^ data) == key && data != 0) {
+                hits.increment();
+                return data;
+            }
+        }
+        return 0L;
+    }
+
+    /**
+     * @param move  best or refuting move packed with {@link chess.moves.Move},
+     *              or 0
+     * @param score score to store, already adjusted for mate distance
+     * @param bound {@link #EXACT}, {@link #LOWER} or {@link #UPPER}
+     */
+    public void store(long key, int move, int score, int depth, int bound) {
+        int base = bucket(key);
+        int gen = generation;
+        int victim = base;
+        int worst = Integer.MAX_VALUE;
+        for (int i = base; i < base + BUCKET * 2; i += 2) {
+            long data = table[i + 1];
+            if (data == 0 || (table[i] ^ data) == key) {
+                if (data != 0 && bound != EXACT && depth(data) > depth + 2 && generation(data) == gen) {
+                    return;
+                }
+                if (move == 0 && data != 0) {
+                    move = move(data);
+                }
+                victim = i;
+                break;
+            }
+            int age = (gen - generation(data)) & (GENERATIONS - 1);
+            int value = depth(data) - 8 * age;
+            if (value < worst) {
+                worst = value;
+                victim = i;
+            }
+        }
+        long data = (move & 0xFFFFL) | ((score & 0xFFFFL) << 16) | ((long) (depth & 0xFF) << 32)
+                | ((long) bound << 40) | ((long) gen << 42);
+        table[victim] = key ^ data;
+        table[victim + 1] = data;
+        stores.increment();
+    }
+
+    private int bucket(long key) {
+        return ((int) (key >>> 32) & bucketMask) * BUCKET * 2;
+    }
+
+    public static int move(long data) {
+        return (int) (data & 0xFFFF);
+    }
+
+    public static int score(long data) {
+        return (short) (data >>> 16);
+    }
+
+    public static int depth(long data) {
+        return (int) ((data >>> 32) & 0xFF);
+    }
+
+    public static int bound(long data) {
+        return (int) ((data >>> 40) & 3);
+    }
+
+    private static int generation(long data) {
+        return (int) ((data >>> 42) & (GENERATIONS - 1));
+    }
+
+    /**
+     * @return the number of entries the table holds
+     */
+    public long getCapacity() {
+        return table.length / 2;
+    }
+
+    public long getProbes() {
+        return probes.sum();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getStores() {
+        return stores.sum();
+    }
+
+    /**
+     * @return the fraction of probes that found an entry
+     */
+    public double getHitRate() {
+        long probed = probes.sum();
+        return probed == 0 ? 0 : (double) hits.sum() / probed;
+    }
+
+    /**
+     * @return the fraction of entries written by the current search, estimated
+     * from the first buckets of the table
+     */
+    public double getOccupancy() {
+        int buckets = Math.min(SAMPLE, bucketMask + 1);
+        int gen = generation;
+        int used = 0;
+        for (int i = 0; i < buckets * BUCKET * 2; i += 2) {
+            long data = table[i + 1];
+            if (data != 0 && generation(data) == gen) {
+                used++;
+            }
+        }
+        return (double) used / (buckets * BUCKET);
+    }
+}
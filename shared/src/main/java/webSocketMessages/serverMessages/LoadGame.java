@@ -1,5 +1,6 @@
 package webSocketMessages.serverMessages;
 
+import chess.BoardSnapshot;
 import chess.ChessGame;
 
 public class LoadGame extends ServerMessage{
@@ -9,6 +10,14 @@ public class LoadGame extends ServerMessage{
         this.game = game;
     }
 
+    /**
+     * Sends a game rebuilt from a snapshot, so the message cannot see a move
+     * being made while it is serialized
+     */
+    public LoadGame(BoardSnapshot snapshot) {
+        this(snapshot.toGame());
+    }
+
     public ChessGame getGame() {
         return game;
     }
@@ -0,0 +1,120 @@
+package chessTests;
+
+import chess.ChessGame;
+import chess.Fen;
+import chess.moves.Move;
+import chess.moves.MoveGenerator;
+import chess.search.AccumulatorEvaluator;
+import chess.search.Network;
+import chess.search.PieceSquareEvaluator;
+import chess.search.Search;
+import chess.search.SearchLimits;
+import chess.search.SearchResult;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+public class AccumulatorEvaluatorTests {
+    private final PieceSquareEvaluator reference = new PieceSquareEvaluator();
+
+    // plays every line to the given depth through the evaluator's move hooks
+    private void walk(ChessGame game, AccumulatorEvaluator evaluator, int depth, int[][] moves) {
+        Assertions.assertEquals(reference.evaluate(game), evaluator.evaluate(game), Fen.format(game));
+        if (depth == 0) {
+            return;
+        }
+        int count = game.generateLegalMoves(game.getTeamTurn(), -1L, moves[depth], 0);
+        for (int i = 0; i < count; i++) {
+            int move = moves[depth][i];
+            evaluator.makeMove(game, move);
+            game.makeMove(move);
+            walk(game, evaluator, depth - 1, moves);
+            game.unmakeMove();
+            evaluator.unmakeMove();
+        }
+        Assertions.assertEquals(reference.evaluate(game), evaluator.evaluate(game), Fen.format(game));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+            "8/8/8/KPp4r/8/8/8/7k w - c6 0 1",
+    })
+    @DisplayName("Incremental Updates Match The Piece-Square Evaluator")
+    public void matchesReference(String fen) {
+        int[][] moves = new int[4][MoveGenerator.MAX_MOVES];
+        walk(Fen.parse(fen), new AccumulatorEvaluator(Network.fromPieceSquareTables()), 3, moves);
+    }
+
+    @Test
+    @DisplayName("Rebuilds For Unrelated Positions")
+    public void unrelatedPositions() {
+        AccumulatorEvaluator evaluator = new AccumulatorEvaluator();
+        Random random = new Random(2);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        ChessGame game = new ChessGame();
+        for (int ply = 0; ply < 100; ply++) {
+            Assertions.assertEquals(reference.evaluate(game), evaluator.evaluate(game));
+            int count = game.generateLegalMoves(game.getTeamTurn(), -1L, moves, 0);
+            if (count == 0) {
+                break;
+            }
+            // moves made without telling the evaluator
+            game.makeMove(moves[random.nextInt(count)]);
+        }
+    }
+
+    @Test
+    @DisplayName("Lines Longer Than The Ply Limit")
+    public void pastLastPly() {
+        AccumulatorEvaluator evaluator = new AccumulatorEvaluator(Network.fromPieceSquareTables());
+        ChessGame game = Fen.parse("4k1n1/8/8/8/8/8/8/4K1N1 w - - 0 1");
+        // the knights shuffle between their home squares and f3 and f6
+        int[] shuffle = {Move.encode(6, 21, null), Move.encode(62, 45, null), Move.encode(21, 6, null), Move.encode(45, 62, null)};
+        int plies = Search.MAX_PLY + 4;
+        for (int i = 0; i < plies; i++) {
+            evaluator.makeMove(game, shuffle[i % 4]);
+            game.makeMove(shuffle[i % 4]);
+            Assertions.assertEquals(reference.evaluate(game), evaluator.evaluate(game), "ply " + (i + 1));
+        }
+        for (int i = plies; i > 0; i--) {
+            game.unmakeMove();
+            evaluator.unmakeMove();
+            Assertions.assertEquals(reference.evaluate(game), evaluator.evaluate(game), "ply " + (i - 1));
+        }
+    }
+
+    @Test
+    @DisplayName("Network File Round Trip")
+    public void roundTrip() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Network.fromPieceSquareTables().write(out);
+        Network read = Network.read(new ByteArrayInputStream(out.toByteArray()));
+        Assertions.assertEquals(32, read.getHidden());
+        ChessGame game = Fen.parse("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R b KQkq - 0 1");
+        Assertions.assertEquals(reference.evaluate(game), new AccumulatorEvaluator(read).evaluate(game));
+
+        byte[] bytes = out.toByteArray();
+        bytes[0] = 0;
+        Assertions.assertThrows(IOException.class, () -> Network.read(new ByteArrayInputStream(bytes)));
+    }
+
+    @Test
+    @DisplayName("Search Agrees With The Piece-Square Evaluator")
+    public void sameSearch() {
+        ChessGame game = Fen.parse("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        SearchResult expected = new Search(new PieceSquareEvaluator()).search(game, SearchLimits.depth(4));
+        SearchResult actual = new Search(new AccumulatorEvaluator()).search(game, SearchLimits.depth(4));
+        Assertions.assertEquals(expected.getScore(), actual.getScore());
+        Assertions.assertEquals(expected.getNodes(), actual.getNodes());
+        Assertions.assertEquals(expected.getPackedMove(), actual.getPackedMove());
+    }
+}
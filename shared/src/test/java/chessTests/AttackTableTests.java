@@ -0,0 +1,91 @@
+package chessTests;
+
+import chess.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+
+public class AttackTableTests {
+
+    @Test
+    @DisplayName("Table Moves Match Ray Walking")
+    public void tableMovesMatchRayWalking() {
+        Random random = new Random(240);
+        ChessGame.TeamColor[] colors = ChessGame.TeamColor.values();
+        ChessPiece.PieceType[] types = ChessPiece.PieceType.values();
+        for (int trial = 0; trial < 500; trial++) {
+            ChessBoard array = new ChessBoard();
+            for (int sq = 0; sq < 64; sq++) {
+                if (random.nextInt(3) == 0) {
+                    array.setPiece(sq, new ChessPiece(colors[random.nextInt(2)], types[random.nextInt(types.length)]));
+                }
+            }
+            ChessBoard bits = BitBoard.copyOf(array);
+            for (int sq = 0; sq < 64; sq++) {
+                ChessPiece piece = array.getPiece(sq);
+                int row = (sq >>> 3) + 1;
+                if (piece == null || (piece.getPieceType() == ChessPiece.PieceType.PAWN && (row == 1 || row == 8))) {
+                    continue;
+                }
+                ChessPosition position = new ChessPosition(row, (sq & 7) + 1);
+                Assertions.assertEquals(new HashSet<>(piece.pieceMoves(array, position)),
+                        new HashSet<>(piece.pieceMoves(bits, position)), "Moves differ for " + piece + " at " + position);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Attacked Squares Match On Both Boards")
+    public void attackedSquaresMatch() {
+        Random random = new Random(4);
+        ChessGame.TeamColor[] colors = ChessGame.TeamColor.values();
+        ChessPiece.PieceType[] types = ChessPiece.PieceType.values();
+        for (int trial = 0; trial < 500; trial++) {
+            ChessBoard array = new ChessBoard();
+            for (int sq = 0; sq < 64; sq++) {
+                if (random.nextInt(4) == 0) {
+                    array.setPiece(sq, new ChessPiece(colors[random.nextInt(2)], types[random.nextInt(types.length)]));
+                }
+            }
+            ChessBoard bits = BitBoard.copyOf(array);
+            for (int sq = 0; sq < 64; sq++) {
+                for (ChessGame.TeamColor by : colors) {
+                    Assertions.assertEquals(attackedByMoves(array, sq, by), array.isAttacked(sq, by));
+                    Assertions.assertEquals(attackedByMoves(array, sq, by), bits.isAttacked(sq, by));
+                }
+            }
+        }
+    }
+
+    private static boolean attackedByMoves(ChessBoard board, int square, ChessGame.TeamColor by) {
+        int row = (square >>> 3) + 1;
+        int col = (square & 7) + 1;
+        for (int sq = 0; sq < 64; sq++) {
+            ChessPiece piece = board.getPiece(sq);
+            if (piece == null || piece.getTeamColor() != by || sq == square) {
+                continue;
+            }
+            int r = (sq >>> 3) + 1;
+            int c = (sq & 7) + 1;
+            if (piece.getPieceType() == ChessPiece.PieceType.PAWN) {
+                int forward = (by == ChessGame.TeamColor.WHITE) ? 1 : -1;
+                if (row == r + forward && Math.abs(col - c) == 1) {
+                    return true;
+                }
+                continue;
+            }
+            ChessBoard probe = BitBoard.copyOf(board);
+            probe.setPiece(square, new ChessPiece(by == ChessGame.TeamColor.WHITE ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE,
+                    ChessPiece.PieceType.PAWN));
+            for (ChessMove move : piece.pieceMoves(probe, new ChessPosition(r, c))) {
+                if (move.getEndPosition().equals(new ChessPosition(row, col))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,129 @@
+package chessTests;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessPiece;
+import chess.Fen;
+import chess.GameStatus;
+import chess.endgame.Bitbases;
+import chess.endgame.Outcome;
+import chess.moves.MoveGenerator;
+import chess.search.Search;
+import chess.search.SearchLimits;
+import chess.search.SearchResult;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Random;
+
+public class BitbaseTests {
+
+    @BeforeAll
+    public static void load() {
+        Bitbases.load();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource({
+            "pawn outruns king, '8/8/8/8/8/8/4P3/4K2k w - - 0 1', WIN",
+            "spare pawn tempo, '4k3/8/8/8/8/8/4P3/4K3 w - - 0 1', WIN",
+            "defender has the opposition, '4k3/8/8/8/8/8/4P3/4K3 b - - 0 1', DRAW",
+            "rook pawn, 'k7/P7/1K6/8/8/8/8/8 w - - 0 1', DRAW",
+            "black pawn blockaded, '8/8/8/8/8/5k2/p7/K7 b - - 0 1', DRAW",
+            "queen, '8/8/8/8/8/8/k7/6KQ b - - 0 1', LOSS",
+            "rook, '7k/8/8/8/8/8/8/R3K3 b - - 0 1', LOSS",
+            "black queen, '8/8/8/8/8/2k5/1q6/K7 w - - 0 1', LOSS",
+            "hanging queen, '8/8/8/8/8/8/1k6/1Q4K1 b - - 0 1', DRAW",
+            "stalemate trap, 'k7/2Q5/1K6/8/8/8/8/8 b - - 0 1', DRAW",
+            "opposition, '8/8/4k3/8/4K3/4P3/8/8 w - - 0 1', DRAW",
+            "other material, '4k3/8/8/8/8/8/4N3/4K3 w - - 0 1', UNKNOWN",
+    })
+    @DisplayName("Known Endings")
+    public void knownEndings(String name, String fen, Outcome expected) {
+        Assertions.assertEquals(expected, Fen.parse(fen).adjudicate());
+    }
+
+    // a position's result must follow from the results after each of its moves
+    private static Outcome outcome(ChessGame game) {
+        GameStatus status = game.getStatus();
+        if (status == GameStatus.CHECKMATE) {
+            return Outcome.LOSS;
+        }
+        if (status == GameStatus.STALEMATE || game.isInsufficientMaterial()) {
+            return Outcome.DRAW;
+        }
+        return game.adjudicate();
+    }
+
+    @Test
+    @DisplayName("Agrees With Every Move Of Random Positions")
+    public void consistent() {
+        Random random = new Random(5);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        ChessPiece.PieceType[] types = {ChessPiece.PieceType.PAWN, ChessPiece.PieceType.ROOK, ChessPiece.PieceType.QUEEN};
+        int checked = 0;
+        while (checked < 3000) {
+            ChessGame game = randomPosition(random, types[checked % 3]);
+            if (game == null) {
+                continue;
+            }
+            checked++;
+            Outcome expected = outcome(game);
+            boolean anyLoss = false;
+            boolean allWins = true;
+            int count = game.generateLegalMoves(game.getTeamTurn(), -1L, moves, 0);
+            for (int i = 0; i < count; i++) {
+                game.makeMove(moves[i]);
+                Outcome after = outcome(game);
+                game.unmakeMove();
+                Assertions.assertNotEquals(Outcome.UNKNOWN, after);
+                anyLoss |= after == Outcome.LOSS;
+                allWins &= after == Outcome.WIN;
+            }
+            if (count == 0 || game.isInsufficientMaterial()) {
+                continue;
+            }
+            Outcome derived = anyLoss ? Outcome.WIN : allWins ? Outcome.LOSS : Outcome.DRAW;
+            Assertions.assertEquals(derived, expected, Fen.format(game));
+        }
+    }
+
+    private static ChessGame randomPosition(Random random, ChessPiece.PieceType type) {
+        ChessGame.TeamColor strong = random.nextBoolean() ? ChessGame.TeamColor.WHITE : ChessGame.TeamColor.BLACK;
+        ChessGame.TeamColor weak = (strong == ChessGame.TeamColor.WHITE) ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+        int[] squares = {random.nextInt(64), random.nextInt(64), random.nextInt(64)};
+        if (squares[0] == squares[1] || squares[0] == squares[2] || squares[1] == squares[2]
+                || (type == ChessPiece.PieceType.PAWN && (squares[2] < 8 || squares[2] >= 56))) {
+            return null;
+        }
+        ChessBoard board = new ChessBoard();
+        board.setPiece(squares[0], new ChessPiece(strong, ChessPiece.PieceType.KING));
+        board.setPiece(squares[1], new ChessPiece(weak, ChessPiece.PieceType.KING));
+        board.setPiece(squares[2], new ChessPiece(strong, type));
+        ChessGame game = new ChessGame();
+        game.setBoard(board);
+        game.setTeamTurn(random.nextBoolean() ? strong : weak);
+        ChessGame.TeamColor waiting = (game.getTeamTurn() == strong) ? weak : strong;
+        // a king and rook on their home squares can castle, which the bitbases do not cover
+        if (game.getCastlingRights() != 0 || game.isInCheck(waiting) || Math.abs((squares[0] >>> 3) - (squares[1] >>> 3)) <= 1
+                && Math.abs((squares[0] & 7) - (squares[1] & 7)) <= 1) {
+            return null;
+        }
+        return game;
+    }
+
+    @Test
+    @DisplayName("Search Avoids Drawn Endings")
+    public void searchUsesBitbase() {
+        // retreating the king lets black keep the opposition; Kc4, Ke4 or the d3 tempo move win
+        ChessGame game = Fen.parse("8/8/3k4/8/3K4/8/3P4/8 w - - 0 1");
+        Assertions.assertEquals(Outcome.WIN, game.adjudicate());
+        SearchResult result = new Search().search(game, SearchLimits.depth(4));
+        game.makeMove(result.getPackedMove());
+        Assertions.assertEquals(Outcome.LOSS, game.adjudicate(), result.toString());
+    }
+}
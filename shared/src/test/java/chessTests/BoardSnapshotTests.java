@@ -0,0 +1,131 @@
+package chessTests;
+
+import chess.BoardSnapshot;
+import chess.ChessGame;
+import chess.ChessPosition;
+import chess.Fen;
+import chess.InvalidMoveException;
+import chess.moves.Move;
+import chess.moves.MoveGenerator;
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class BoardSnapshotTests {
+
+    // plays one random legal move through the checked API, which publishes
+    private static boolean playRandom(ChessGame game, Random random) throws InvalidMoveException {
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int count = game.generateLegalMoves(game.getTeamTurn(), -1L, moves, 0);
+        if (count == 0) {
+            return false;
+        }
+        game.makeMove(Move.toChessMove(moves[random.nextInt(count)]));
+        return true;
+    }
+
+    @Test
+    @DisplayName("Matches The Game After Each Move")
+    public void matchesGame() throws InvalidMoveException {
+        Random random = new Random(25);
+        ChessGame game = Fen.parse("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        for (int ply = 0; ply < 60 && playRandom(game, random); ply++) {
+            BoardSnapshot snapshot = game.getSnapshot();
+            Assertions.assertEquals(game.positionKey(), snapshot.positionKey());
+            Assertions.assertEquals(Fen.format(game), Fen.format(snapshot.toGame()));
+            Assertions.assertEquals(game.getBoard(), snapshot.toBoard());
+            Assertions.assertEquals(game.getBoard().getPiece(new ChessPosition(1, 5)), snapshot.getPiece(new ChessPosition(1, 5)));
+        }
+    }
+
+    @Test
+    @DisplayName("Publishes Only Finished Moves")
+    public void publishing() {
+        ChessGame game = new ChessGame();
+        BoardSnapshot start = game.getSnapshot();
+        game.makeMove(Move.encode(12, 28, null));
+        Assertions.assertSame(start, game.getSnapshot());
+        game.validMoves(new ChessPosition(7, 4));
+        Assertions.assertSame(start, game.getSnapshot());
+
+        BoardSnapshot published = game.publishSnapshot();
+        Assertions.assertSame(published, game.getSnapshot());
+        Assertions.assertEquals(ChessGame.TeamColor.BLACK, published.getTeamTurn());
+        Assertions.assertEquals(game.positionKey(), published.positionKey());
+        game.fished();
+        Assertions.assertTrue(game.getSnapshot().isGameOver());
+    }
+
+    @Test
+    @DisplayName("Publishes Each Set Up Position")
+    public void setUp() {
+        ChessGame game = Fen.parse("4k3/8/8/8/8/8/8/4K2R w K - 0 1");
+        Assertions.assertEquals(game.positionKey(), game.getSnapshot().positionKey());
+        game.setTeamTurn(ChessGame.TeamColor.BLACK);
+        Assertions.assertEquals(ChessGame.TeamColor.BLACK, game.getSnapshot().getTeamTurn());
+        game.setBoard(new ChessGame().getBoard());
+        Assertions.assertEquals(game.positionKey(), game.getSnapshot().positionKey());
+        Assertions.assertEquals(game.getBoard(), game.getSnapshot().toBoard());
+
+        ChessGame copy = new ChessGame(game);
+        Assertions.assertEquals(game.positionKey(), copy.getSnapshot().positionKey());
+    }
+
+    @Test
+    @DisplayName("Publishes A Game Read By Gson")
+    public void gson() {
+        ChessGame game = Fen.parse("4k3/8/8/3pP3/8/8/8/4K3 w - d6 3 1");
+        ChessGame read = new Gson().fromJson(new Gson().toJson(game), ChessGame.class);
+        Assertions.assertEquals(game.positionKey(), read.getSnapshot().positionKey());
+        Assertions.assertEquals(Fen.format(game), Fen.format(read.getSnapshot().toGame()));
+    }
+
+    @Test
+    @DisplayName("Reads Consistent Positions While Moves Are Made")
+    public void concurrentReaders() throws Exception {
+        ChessGame game = new ChessGame();
+        Set<Long> published = ConcurrentHashMap.newKeySet();
+        published.add(game.getSnapshot().positionKey());
+        AtomicBoolean done = new AtomicBoolean();
+        Throwable[] failure = new Throwable[1];
+        Thread reader = new Thread(() -> {
+            try {
+                while (!done.get()) {
+                    BoardSnapshot snapshot = game.getSnapshot();
+                    Assertions.assertEquals(snapshot.positionKey(), snapshot.toGame().positionKey());
+                    Assertions.assertTrue(published.contains(snapshot.positionKey()));
+                }
+            } catch (Throwable e) {
+                failure[0] = e;
+            }
+        });
+        reader.start();
+        Random random = new Random(4);
+        try {
+            for (int ply = 0; ply < 300; ply++) {
+                // tests moves by making them on the shared board
+                game.validMoves(new ChessPosition(1 + random.nextInt(8), 1 + random.nextInt(8)));
+                int[] moves = new int[MoveGenerator.MAX_MOVES];
+                int count = game.generateLegalMoves(game.getTeamTurn(), -1L, moves, 0);
+                if (count == 0) {
+                    break;
+                }
+                int move = moves[random.nextInt(count)];
+                game.makeMove(move);
+                published.add(game.positionKey());
+                game.unmakeMove();
+                game.makeMove(Move.toChessMove(move));
+            }
+        } finally {
+            done.set(true);
+            reader.join();
+        }
+        Assertions.assertNull(failure[0], String.valueOf(failure[0]));
+    }
+}
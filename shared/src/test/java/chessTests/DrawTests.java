@@ -0,0 +1,104 @@
+package chessTests;
+
+import chess.*;
+import chess.moves.Move;
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class DrawTests {
+
+    private static void shuffleKnights(ChessGame game) {
+        game.makeMove(Move.encode(ChessBoard.square(1, 7), ChessBoard.square(3, 6), null));
+        game.makeMove(Move.encode(ChessBoard.square(8, 7), ChessBoard.square(6, 6), null));
+        game.makeMove(Move.encode(ChessBoard.square(3, 6), ChessBoard.square(1, 7), null));
+        game.makeMove(Move.encode(ChessBoard.square(6, 6), ChessBoard.square(8, 7), null));
+    }
+
+    @Test
+    @DisplayName("Threefold Repetition")
+    public void threefoldRepetition() {
+        ChessGame game = new ChessGame();
+        shuffleKnights(game);
+        Assertions.assertFalse(game.isThreefoldRepetition());
+        shuffleKnights(game);
+        Assertions.assertTrue(game.isThreefoldRepetition());
+        Assertions.assertTrue(game.isDraw());
+        game.unmakeMove();
+        Assertions.assertFalse(game.isThreefoldRepetition());
+    }
+
+    @Test
+    @DisplayName("Repetition Survives Serialization")
+    public void repetitionSurvivesSerialization() {
+        ChessGame game = new ChessGame();
+        shuffleKnights(game);
+        ChessGame copy = new Gson().fromJson(new Gson().toJson(game), ChessGame.class);
+        shuffleKnights(copy);
+        Assertions.assertTrue(copy.isThreefoldRepetition());
+    }
+
+    @Test
+    @DisplayName("Fifty Move Rule")
+    public void fiftyMoveRule() {
+        ChessGame game = Fen.parse("4k3/8/8/8/8/8/4P3/R3K3 w Q - 99 80");
+        Assertions.assertFalse(game.isFiftyMoveDraw());
+        game.makeMove(Move.encode(ChessBoard.square(1, 1), ChessBoard.square(1, 2), null));
+        Assertions.assertTrue(game.isFiftyMoveDraw());
+        game.unmakeMove();
+        game.makeMove(Move.encode(ChessBoard.square(2, 5), ChessBoard.square(4, 5), null));
+        Assertions.assertEquals(0, game.getHalfmoveClock());
+    }
+
+    @Test
+    @DisplayName("Insufficient Material")
+    public void insufficientMaterial() {
+        Assertions.assertTrue(Fen.parse("4k3/8/8/8/8/8/8/4K1N1 w - - 0 1").isInsufficientMaterial());
+        Assertions.assertFalse(Fen.parse("4k3/8/8/8/8/8/8/4K1R1 w - - 0 1").isInsufficientMaterial());
+        Assertions.assertFalse(new ChessGame().isDraw());
+    }
+
+    @Test
+    @DisplayName("Castling And En Passant")
+    public void castlingAndEnPassant() throws InvalidMoveException {
+        ChessGame game = Fen.parse("4k3/8/8/8/1p6/8/P7/R3K2R w KQ - 0 1");
+        game.makeMove(new ChessMove(ChessPosition.of(2, 1), ChessPosition.of(4, 1), null));
+        Assertions.assertEquals(ChessBoard.square(3, 1), game.getEnPassantSquare());
+        game.makeMove(new ChessMove(ChessPosition.of(4, 2), ChessPosition.of(3, 1), null));
+        Assertions.assertNull(game.getBoard().getPiece(ChessPosition.of(4, 1)));
+
+        game.makeMove(new ChessMove(ChessPosition.of(1, 5), ChessPosition.of(1, 7), null));
+        Assertions.assertEquals(ChessPiece.PieceType.ROOK, game.getBoard().getPiece(ChessPosition.of(1, 6)).getPieceType());
+        Assertions.assertEquals(0, game.getCastlingRights());
+        Assertions.assertEquals("4k3/8/8/8/8/p7/8/R4RK1 b - - 1 1", Fen.format(game));
+
+        game.unmakeMove();
+        game.unmakeMove();
+        game.unmakeMove();
+        Assertions.assertEquals("4k3/8/8/8/1p6/8/P7/R3K2R w KQ - 0 1", Fen.format(game));
+    }
+
+    @Test
+    @DisplayName("Castling Rights From Home Squares")
+    public void homeCastlingRights() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        game.setBoard(Fen.parse("r3k3/8/8/8/8/8/8/R3K2R w - - 0 1").getBoard());
+        Assertions.assertEquals(ChessGame.WHITE_KINGSIDE | ChessGame.WHITE_QUEENSIDE | ChessGame.BLACK_QUEENSIDE,
+                game.getCastlingRights());
+        game.makeMove(new ChessMove(ChessPosition.of(1, 5), ChessPosition.of(1, 7), null));
+        Assertions.assertEquals("r3k3/8/8/8/8/8/8/R4RK1 b q - 1 1", Fen.format(game));
+
+        // a king off its home square has no rights, whatever its rooks
+        game.setBoard(Fen.parse("r2k3r/8/8/8/8/8/8/R3K2R w - - 0 1").getBoard());
+        Assertions.assertEquals(ChessGame.WHITE_KINGSIDE | ChessGame.WHITE_QUEENSIDE, game.getCastlingRights());
+
+        // Gson leaves the constructor's full rights when the JSON has none
+        ChessGame legacy = new Gson().fromJson(new Gson().toJson(Fen.parse("4k2r/8/8/8/8/8/8/4K3 w - - 0 1"))
+                .replaceFirst("\"castling\":\\d+,?", ""), ChessGame.class);
+        Assertions.assertEquals(15, legacy.getCastlingRights());
+        legacy.dropLostCastlingRights();
+        Assertions.assertEquals(ChessGame.BLACK_KINGSIDE, legacy.getCastlingRights());
+        Assertions.assertEquals(legacy.positionKey(), legacy.getSnapshot().positionKey());
+    }
+}
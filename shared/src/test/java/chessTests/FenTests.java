@@ -0,0 +1,36 @@
+package chessTests;
+
+import chess.ChessGame;
+import chess.Fen;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class FenTests {
+
+    @Test
+    @DisplayName("Round Trips Positions")
+    public void roundTrip() {
+        Assertions.assertEquals(Fen.START, Fen.format(new ChessGame()));
+        String fen = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+        Assertions.assertEquals(fen, Fen.format(Fen.parse(fen)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "9/8/8/8/8/8/8/4K2k w - - 0 1",
+            "44p/8/8/8/8/8/8/4K2k w - - 0 1",
+            "7/8/8/8/8/8/8/4K2k w - - 0 1",
+            "8/8/8/8/8/8/8/4K2 w - - 0 1",
+            "8/8/8/8/8/8/8/4K2kk w - - 0 1",
+            "8/8/8/8/8/8/8/8/4K2k w - - 0 1",
+            "8/8/8/8/8/8/4K2k w - - 0 1",
+            "08/8/8/8/8/8/8/4K2k w - - 0 1",
+    })
+    @DisplayName("Rejects Ranks Not Of 8 Squares")
+    public void badRanks(String fen) {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Fen.parse(fen));
+    }
+}
@@ -0,0 +1,86 @@
+package chessTests;
+
+import chess.ChessGame;
+import chess.Fen;
+import chess.GameCodec;
+import chess.moves.Move;
+import chess.moves.MoveGenerator;
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class GameCodecTests {
+
+    private static void assertSameGame(ChessGame expected, ChessGame actual) {
+        Assertions.assertEquals(Fen.format(expected), Fen.format(actual));
+        Assertions.assertEquals(expected.getBoard(), actual.getBoard());
+        Assertions.assertEquals(expected.positionKey(), actual.positionKey());
+        Assertions.assertEquals(expected.gameState(), actual.gameState());
+        Assertions.assertEquals(expected.isRepetition(), actual.isRepetition());
+        Assertions.assertEquals(expected.isThreefoldRepetition(), actual.isThreefoldRepetition());
+    }
+
+    @Test
+    @DisplayName("Round Trips Random Games")
+    public void roundTrip() {
+        Random random = new Random(21);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        for (int round = 0; round < 30; round++) {
+            ChessGame game = new ChessGame();
+            for (int ply = 0; ply < 120; ply++) {
+                assertSameGame(game, GameCodec.decode(GameCodec.encode(game)));
+                int count = game.generateLegalMoves(game.getTeamTurn(), -1L, moves, 0);
+                if (count == 0) {
+                    break;
+                }
+                game.makeMove(moves[random.nextInt(count)]);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Keeps Repetition History")
+    public void repetition() {
+        ChessGame game = Fen.parse("4k3/8/8/8/8/8/8/4K2R w - - 0 1");
+        String[] shuffle = {"h1h2", "e8d8", "h2h1", "d8e8", "h1h2", "e8d8", "h2h1", "d8e8"};
+        for (String name : shuffle) {
+            int[] moves = new int[MoveGenerator.MAX_MOVES];
+            int count = game.generateLegalMoves(game.getTeamTurn(), -1L, moves, 0);
+            for (int i = 0; i < count; i++) {
+                if (Move.name(moves[i]).equals(name)) {
+                    game.makeMove(moves[i]);
+                    break;
+                }
+            }
+        }
+        ChessGame decoded = GameCodec.decode(GameCodec.encode(game));
+        Assertions.assertTrue(game.isThreefoldRepetition());
+        Assertions.assertTrue(decoded.isThreefoldRepetition());
+    }
+
+    @Test
+    @DisplayName("Far Smaller Than JSON")
+    public void size() {
+        ChessGame game = new ChessGame();
+        game.fished();
+        byte[] bytes = GameCodec.encode(game);
+        Assertions.assertEquals(37, bytes.length);
+        Assertions.assertTrue(GameCodec.decode(bytes).gameState());
+        Assertions.assertTrue(new Gson().toJson(game).length() > 10 * bytes.length);
+    }
+
+    @Test
+    @DisplayName("Rejects Unknown Data")
+    public void rejects() {
+        byte[] bytes = GameCodec.encode(new ChessGame());
+        bytes[0] = 99;
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GameCodec.decode(bytes));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GameCodec.decode(new byte[]{1, 2, 3}));
+        byte[] truncated = Arrays.copyOf(GameCodec.encode(new ChessGame()), 35);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GameCodec.decode(truncated));
+    }
+}
@@ -0,0 +1,74 @@
+package chessTests;
+
+import chess.*;
+import chess.moves.Move;
+import chess.moves.MoveGenerator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class GameStatusTests {
+
+    @Test
+    @DisplayName("Status Of Each Kind Of Position")
+    public void statusKinds() {
+        Assertions.assertEquals(GameStatus.NORMAL, new ChessGame().getStatus());
+        Assertions.assertEquals(GameStatus.CHECK, Fen.parse("4k3/8/8/8/8/8/8/4R1K1 b - - 0 1").getStatus());
+        Assertions.assertEquals(GameStatus.CHECKMATE, Fen.parse("R3k3/8/4K3/8/8/8/8/8 b - - 0 1").getStatus());
+        Assertions.assertEquals(GameStatus.STALEMATE, Fen.parse("k7/2Q5/1K6/8/8/8/8/8 b - - 0 1").getStatus());
+        Assertions.assertEquals(GameStatus.DRAW, Fen.parse("4k3/8/8/8/8/8/8/4KB2 b - - 0 1").getStatus());
+    }
+
+    @Test
+    @DisplayName("Status Of A Board With More Moves Than Any Game")
+    public void crowdedBoard() {
+        ChessGame game = Fen.parse("QQQQQQQk/Q6Q/Q6Q/Q6Q/Q2Q3Q/Q6Q/Q6Q/KQQQQQQQ w - - 0 1");
+        int[] moves = new int[MoveGenerator.MAX_BOARD_MOVES];
+        Assertions.assertTrue(game.legalMoves(ChessGame.TeamColor.WHITE, moves, 0) > MoveGenerator.MAX_MOVES);
+        Assertions.assertEquals(GameStatus.NORMAL, game.getStatus());
+        Assertions.assertFalse(game.movesCheck(ChessGame.TeamColor.WHITE));
+        Assertions.assertFalse(game.isInStalemate(ChessGame.TeamColor.WHITE));
+    }
+
+    @Test
+    @DisplayName("Status Follows Moves Without Ending The Game")
+    public void statusFollowsMoves() {
+        ChessGame game = new ChessGame();
+        Assertions.assertEquals(GameStatus.NORMAL, game.getStatus());
+        game.makeMove(Move.encode(ChessBoard.square(2, 6), ChessBoard.square(3, 6), null));
+        game.makeMove(Move.encode(ChessBoard.square(7, 5), ChessBoard.square(5, 5), null));
+        game.makeMove(Move.encode(ChessBoard.square(2, 7), ChessBoard.square(4, 7), null));
+        game.makeMove(Move.encode(ChessBoard.square(8, 4), ChessBoard.square(4, 8), null));
+        Assertions.assertEquals(GameStatus.CHECKMATE, game.getStatus());
+        Assertions.assertTrue(game.isInCheckmate(ChessGame.TeamColor.WHITE));
+        Assertions.assertFalse(game.gameState());
+
+        game.unmakeMove();
+        Assertions.assertEquals(GameStatus.NORMAL, game.getStatus());
+    }
+
+    @Test
+    @DisplayName("Same Position Key With Different Draw Results")
+    public void drawsBeyondTheKey() {
+        String fen = "4k3/8/8/8/8/8/8/4K2R w - - 0 1";
+        ChessGame game = Fen.parse(fen);
+        Assertions.assertEquals(GameStatus.NORMAL, game.getStatus());
+        long key = game.positionKey();
+        // two rounds of shuffling back reach the same key a third time
+        int[][] shuffle = {{7, 15}, {60, 59}, {15, 7}, {59, 60}};
+        for (int round = 0; round < 2; round++) {
+            for (int[] move : shuffle) {
+                game.makeMove(Move.encode(move[0], move[1], null));
+            }
+        }
+        Assertions.assertEquals(key, game.positionKey());
+        Assertions.assertEquals(GameStatus.DRAW, game.getStatus());
+
+        // a reused game loaded with the same position but a spent clock
+        ChessGame reused = Fen.parse(fen);
+        Assertions.assertEquals(GameStatus.NORMAL, reused.getStatus());
+        GameCodec.decode(GameCodec.encode(Fen.parse("4k3/8/8/8/8/8/8/4K2R w - - 100 80")), reused);
+        Assertions.assertEquals(key, reused.positionKey());
+        Assertions.assertEquals(GameStatus.DRAW, reused.getStatus());
+    }
+}
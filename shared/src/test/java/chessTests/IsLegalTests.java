@@ -0,0 +1,78 @@
+package chessTests;
+
+import chess.*;
+import chess.moves.Move;
+import chess.moves.MoveGenerator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public class IsLegalTests {
+
+    // every from, to and promotion code, checked against the generated move list
+    private static void assertMatchesGenerator(ChessGame game) {
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int count = game.legalMoves(game.getTeamTurn(), moves, 0);
+        Set<Integer> legal = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            legal.add(moves[i]);
+        }
+        for (int from = 0; from < 64; from++) {
+            if (game.getBoard().getPiece(from) == null) {
+                continue;
+            }
+            for (int to = 0; to < 64; to++) {
+                for (int promotion = 0; promotion <= 6; promotion++) {
+                    int move = Move.encode(from, to, promotion, 0);
+                    Assertions.assertEquals(legal.contains(move), game.isLegal(move),
+                            Move.toChessMove(move) + " in " + Fen.format(game));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Matches Generated Moves")
+    public void matchesGeneratedMoves() {
+        String[] fens = {
+                Fen.START,
+                "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+                "8/8/8/KPp4r/8/8/8/7k w - c6 0 1",
+                "n1n5/PPPk4/8/8/8/8/4Kppp/5N1N b - - 0 1",
+        };
+        for (String fen : fens) {
+            assertMatchesGenerator(Fen.parse(fen));
+        }
+    }
+
+    @Test
+    @DisplayName("Matches Generated Moves Over A Random Game")
+    public void randomGame() {
+        Random random = new Random(5);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        ChessGame game = Fen.parse("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        for (int ply = 0; ply < 40; ply++) {
+            assertMatchesGenerator(game);
+            int count = game.legalMoves(game.getTeamTurn(), moves, 0);
+            if (count == 0) {
+                break;
+            }
+            game.makeMove(moves[random.nextInt(count)]);
+        }
+    }
+
+    @Test
+    @DisplayName("Rejects Moves Off The Board")
+    public void rejectsOffBoard() {
+        ChessGame game = new ChessGame();
+        Assertions.assertThrows(InvalidMoveException.class, () -> game.makeMove(
+                new ChessMove(ChessPosition.of(2, 1), ChessPosition.of(9, 1), null)));
+        Assertions.assertThrows(InvalidMoveException.class, () -> game.makeMove(
+                new ChessMove(ChessPosition.of(4, 4), ChessPosition.of(5, 4), null)));
+    }
+}
@@ -0,0 +1,77 @@
+package chessTests;
+
+import chess.ChessGame;
+import chess.Fen;
+import chess.moves.MoveGenerator;
+import chess.moves.Perft;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class LegalMoveGeneratorTests {
+
+    private static void assertSameMoves(ChessGame game, int[] filtered, int[] strict) {
+        int expected = game.legalMoves(game.getTeamTurn(), filtered, 0);
+        int actual = game.generateLegalMoves(game.getTeamTurn(), -1L, strict, 0);
+        Arrays.sort(filtered, 0, expected);
+        Arrays.sort(strict, 0, actual);
+        Assertions.assertArrayEquals(Arrays.copyOf(filtered, expected), Arrays.copyOf(strict, actual), Fen.format(game));
+    }
+
+    // compares the two generators at every node of the tree, returning the leaf count
+    private static long walk(ChessGame game, int depth, int[][] filtered, int[][] strict) {
+        int[] moves = strict[depth];
+        assertSameMoves(game, filtered[depth], moves);
+        int count = game.generateLegalMoves(game.getTeamTurn(), -1L, moves, 0);
+        if (depth == 1) {
+            return count;
+        }
+        long nodes = 0;
+        for (int i = 0; i < count; i++) {
+            game.makeMove(moves[i]);
+            nodes += walk(game, depth - 1, filtered, strict);
+            game.unmakeMove();
+        }
+        return nodes;
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource({
+            "start, 'rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1', 3",
+            "kiwipete, 'r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1', 3",
+            "position 3, '8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1', 4",
+            "position 4, 'r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1', 3",
+            "position 5, 'rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8', 3",
+            "en passant pin, '8/8/8/KPp4r/8/8/8/7k w - c6 0 1', 3",
+    })
+    @DisplayName("Matches Filtered Generator At Every Node")
+    public void matchesFilteredGenerator(String name, String fen, int depth) {
+        int[][] filtered = new int[depth + 1][MoveGenerator.MAX_MOVES];
+        int[][] strict = new int[depth + 1][MoveGenerator.MAX_MOVES];
+        Assertions.assertEquals(Perft.perft(Fen.parse(fen), depth), walk(Fen.parse(fen), depth, filtered, strict));
+    }
+
+    @Test
+    @DisplayName("Matches Filtered Generator Over Random Games")
+    public void randomGames() {
+        Random random = new Random(11);
+        int[] filtered = new int[MoveGenerator.MAX_MOVES];
+        int[] strict = new int[MoveGenerator.MAX_MOVES];
+        for (int game = 0; game < 20; game++) {
+            ChessGame chess = new ChessGame();
+            for (int ply = 0; ply < 150; ply++) {
+                assertSameMoves(chess, filtered, strict);
+                int count = chess.generateLegalMoves(chess.getTeamTurn(), -1L, strict, 0);
+                if (count == 0) {
+                    break;
+                }
+                chess.makeMove(strict[random.nextInt(count)]);
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package chessTests;
+
+import chess.*;
+import chess.moves.Move;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class MakeUnmakeTests {
+
+    @Test
+    @DisplayName("Unmake Restores Random Games")
+    public void unmakeRestoresRandomGames() {
+        Random random = new Random(1);
+        for (int trial = 0; trial < 50; trial++) {
+            ChessGame game = new ChessGame();
+            ChessBoard start = game.getBoard().copy();
+            int played = 0;
+            for (; played < 80; played++) {
+                List<ChessMove> moves = new ArrayList<>();
+                for (int sq = 0; sq < 64; sq++) {
+                    ChessPiece piece = game.getBoard().getPiece(sq);
+                    if (piece != null && piece.getTeamColor() == game.getTeamTurn()) {
+                        moves.addAll(game.validMoves(new ChessPosition((sq >>> 3) + 1, (sq & 7) + 1)));
+                    }
+                }
+                if (moves.isEmpty()) {
+                    break;
+                }
+                game.makeMove(Move.of(moves.get(random.nextInt(moves.size()))));
+            }
+            for (int i = 0; i < played; i++) {
+                game.unmakeMove();
+            }
+            Assertions.assertEquals(start, game.getBoard());
+            Assertions.assertEquals(ChessGame.TeamColor.WHITE, game.getTeamTurn());
+        }
+    }
+
+    @Test
+    @DisplayName("Unmake Without Move")
+    public void unmakeWithoutMove() {
+        Assertions.assertThrows(IllegalStateException.class, () -> new ChessGame().unmakeMove());
+    }
+}
@@ -0,0 +1,105 @@
+package chessTests;
+
+import chess.ChessGame;
+import chess.Fen;
+import chess.GameStatus;
+import chess.moves.Move;
+import chess.search.MateResult;
+import chess.search.MateSolver;
+import chess.search.Search;
+import chess.search.SearchLimits;
+import chess.search.SearchResult;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+public class MateSolverTests {
+
+    private static void assertMatingLine(String fen, MateResult result) {
+        ChessGame game = Fen.parse(fen);
+        for (int move : result.getPackedLine()) {
+            Assertions.assertTrue(game.isLegal(move), Move.name(move));
+            game.makeMove(move);
+        }
+        Assertions.assertEquals(GameStatus.CHECKMATE, game.getStatus());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource({
+            "back rank, '6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1', 1, a1a8",
+            "legal's mate, 'r2qkb1r/pp2nppp/3p4/2pNN1B1/2BnP3/3P4/PPP2PPP/R2bK2R w KQkq - 1 1', 2, d5f6",
+            "black to move, 'r5k1/8/8/8/8/8/5PPP/6K1 b - - 0 1', 1, a8a1",
+    })
+    @DisplayName("Finds The Shortest Mate")
+    public void findsMate(String name, String fen, int moves, String first) {
+        MateResult result = new MateSolver().solve(Fen.parse(fen), 4, 0);
+        Assertions.assertEquals(MateResult.Status.MATE, result.getStatus(), result.toString());
+        Assertions.assertEquals(moves, result.getMoves());
+        Assertions.assertEquals(first, Move.name(result.getPackedLine()[0]));
+        Assertions.assertTrue(result.getProofSize() >= result.getPackedLine().length + 1);
+        assertMatingLine(fen, result);
+
+        MateResult shorter = new MateSolver().solve(Fen.parse(fen), moves - 1, 0);
+        Assertions.assertEquals(MateResult.Status.NO_MATE, shorter.getStatus());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "'1k6/8/8/2K5/8/8/8/7R w - - 0 1'",
+            "'2k5/8/8/3K4/8/8/8/7Q w - - 0 1'",
+            "'6k1/pp4p1/2p5/2bp4/8/P5Pb/1P3rrP/2BRRN1K b - - 0 1'",
+    })
+    @DisplayName("Agrees With The Search")
+    public void agreesWithSearch(String fen) {
+        SearchResult search = new Search().search(Fen.parse(fen), SearchLimits.depth(7));
+        MateResult solved = new MateSolver().solve(Fen.parse(fen), 5, 0);
+        Assertions.assertTrue(search.isMate() && solved.isMate(), search + " / " + solved);
+        Assertions.assertEquals((Search.MATE - search.getScore() + 1) / 2, solved.getMoves());
+        assertMatingLine(fen, solved);
+    }
+
+    @Test
+    @DisplayName("Never Proves A Mate It Cannot Hold")
+    public void tightCapacity() {
+        String fen = "r2qkb1r/pp2nppp/3p4/2pNN1B1/2BnP3/3P4/PPP2PPP/R2bK2R w KQkq - 1 1";
+        // mate in one needs the root and its mating move
+        Assertions.assertEquals(MateResult.Status.UNKNOWN,
+                new MateSolver(1).solve(Fen.parse("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1"), 1, 0).getStatus());
+        boolean proven = false;
+        for (int capacity = 1; capacity <= 400; capacity += 3) {
+            MateResult result = new MateSolver(capacity).solve(Fen.parse(fen), 2, 0);
+            if (result.isMate()) {
+                proven = true;
+                Assertions.assertEquals(3, result.getPackedLine().length, capacity + ": " + result);
+                assertMatingLine(fen, result);
+            } else {
+                Assertions.assertEquals(MateResult.Status.UNKNOWN, result.getStatus(), capacity + ": " + result);
+            }
+        }
+        Assertions.assertTrue(proven);
+    }
+
+    @Test
+    @DisplayName("No Mate In Quiet Positions")
+    public void noMate() {
+        MateResult result = new MateSolver().solve(new ChessGame(), 2, 0);
+        Assertions.assertEquals(MateResult.Status.NO_MATE, result.getStatus());
+        Assertions.assertEquals(0, result.getMoves());
+    }
+
+    @Test
+    @DisplayName("Gives Up Within Its Budgets")
+    public void budgets() {
+        String fen = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+        long start = System.nanoTime();
+        MateResult timed = new MateSolver().solve(Fen.parse(fen), 10, 100);
+        Assertions.assertEquals(MateResult.Status.UNKNOWN, timed.getStatus());
+        Assertions.assertTrue(System.nanoTime() - start < 2_000_000_000L);
+
+        MateResult small = new MateSolver(100).solve(Fen.parse(fen), 10, 0);
+        Assertions.assertEquals(MateResult.Status.UNKNOWN, small.getStatus());
+        Assertions.assertTrue(small.getNodes() <= 10_000);
+    }
+}
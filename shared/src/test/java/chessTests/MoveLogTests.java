@@ -0,0 +1,162 @@
+package chessTests;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.Fen;
+import chess.GameCodec;
+import chess.MoveLog;
+import chess.moves.Move;
+import chess.moves.MoveGenerator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class MoveLogTests {
+
+    // plays random legal moves, returning the Fen of every position on the way
+    private static List<String> play(ChessGame game, Random random, int plies) {
+        List<String> positions = new ArrayList<>();
+        positions.add(Fen.format(game));
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        for (int ply = 0; ply < plies; ply++) {
+            int count = game.generateLegalMoves(game.getTeamTurn(), -1L, moves, 0);
+            if (count == 0) {
+                break;
+            }
+            game.makeMove(moves[random.nextInt(count)]);
+            positions.add(Fen.format(game));
+        }
+        return positions;
+    }
+
+    @Test
+    @DisplayName("Seeks To Every Ply")
+    public void seek() {
+        Random random = new Random(22);
+        for (int round = 0; round < 10; round++) {
+            ChessGame game = new ChessGame();
+            List<String> positions = play(game, random, 150);
+            Assertions.assertEquals(positions.size() - 1, game.getMoveLog().size());
+            for (int ply = positions.size() - 1; ply >= 0; ply--) {
+                ChessGame earlier = game.positionAt(ply);
+                Assertions.assertEquals(positions.get(ply), Fen.format(earlier));
+                Assertions.assertEquals(ply, earlier.getMoveLog().size());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Starts From A Set Up Position")
+    public void setUpPosition() {
+        String fen = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+        ChessGame game = Fen.parse(fen);
+        List<String> positions = play(game, new Random(7), 40);
+        Assertions.assertEquals(fen, Fen.format(game.positionAt(0)));
+        Assertions.assertEquals(positions.get(positions.size() - 1), Fen.format(game.positionAt(positions.size() - 1)));
+    }
+
+    @Test
+    @DisplayName("Forgets Unmade Moves")
+    public void unmake() {
+        Random random = new Random(5);
+        ChessGame game = new ChessGame();
+        play(game, random, 60);
+        // fills the checkpoints that unmaking must invalidate
+        game.positionAt(60);
+        for (int i = 0; i < 30; i++) {
+            game.unmakeMove();
+        }
+        List<String> positions = play(game, random, 40);
+        for (int i = 0; i < positions.size(); i++) {
+            Assertions.assertEquals(positions.get(i), Fen.format(game.positionAt(30 + i)));
+        }
+    }
+
+    @Test
+    @DisplayName("Round Trips Through Bytes")
+    public void encode() {
+        ChessGame game = new ChessGame();
+        List<String> positions = play(game, new Random(3), 100);
+        byte[] bytes = game.getMoveLog().encode();
+        Assertions.assertTrue(bytes.length < 40 + 2 * 100, bytes.length + " bytes");
+
+        MoveLog decoded = MoveLog.decode(bytes);
+        Assertions.assertEquals(game.getMoveLog().toString(), decoded.toString());
+        for (int ply = 0; ply < positions.size(); ply++) {
+            Assertions.assertEquals(positions.get(ply), Fen.format(decoded.positionAt(ply)));
+        }
+        Assertions.assertArrayEquals(new byte[]{0, 0}, new MoveLog().encode());
+        Assertions.assertEquals(0, MoveLog.decode(new byte[]{0, 0}).size());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> MoveLog.decode(new byte[]{0, 1, 0, 0}));
+    }
+
+    @Test
+    @DisplayName("Restarts When The Board Is Replaced")
+    public void setBoard() {
+        ChessGame game = new ChessGame();
+        play(game, new Random(9), 20);
+        ChessBoard board = new ChessBoard();
+        board.resetBoard();
+        game.setBoard(board);
+        Assertions.assertEquals(0, game.getMoveLog().size());
+        Assertions.assertEquals(Fen.format(game), Fen.format(game.positionAt(0)));
+    }
+
+    @Test
+    @DisplayName("Records The Start When First Read")
+    public void lazyStart() {
+        Random random = new Random(17);
+        ChessGame game = new ChessGame();
+        String start = Fen.format(game);
+        List<String> positions = play(game, random, 30);
+        for (int i = 0; i < 10; i++) {
+            game.unmakeMove();
+        }
+        Assertions.assertEquals(positions.get(20), Fen.format(game));
+        Assertions.assertEquals(start, Fen.format(game.positionAt(0)));
+        Assertions.assertEquals(positions.get(20), Fen.format(game.positionAt(20)));
+        Assertions.assertEquals(positions.get(20), Fen.format(game));
+
+        // a copy of a game whose start is not yet known logs from its own position
+        ChessGame fresh = new ChessGame();
+        play(fresh, random, 10);
+        ChessGame copy = new ChessGame(fresh);
+        Assertions.assertEquals(Fen.format(fresh), Fen.format(copy.positionAt(0)));
+        Assertions.assertEquals(start, Fen.format(fresh.positionAt(0)));
+    }
+
+    @Test
+    @DisplayName("Replays Into A Reused Game")
+    public void replay() {
+        Random random = new Random(13);
+        ChessGame reused = new ChessGame();
+        for (int round = 0; round < 5; round++) {
+            ChessGame game = new ChessGame();
+            play(game, random, 80);
+            Assertions.assertEquals(-1, game.getMoveLog().replay(reused));
+            Assertions.assertEquals(Fen.format(game), Fen.format(reused));
+            Assertions.assertEquals(game.positionKey(), reused.positionKey());
+        }
+
+        GameCodec.decode(GameCodec.encode(Fen.parse("4k3/8/8/8/8/8/8/4K2R w K - 0 1")), reused);
+        Assertions.assertEquals("4k3/8/8/8/8/8/8/4K2R w K - 0 1", Fen.format(reused));
+        Assertions.assertFalse(reused.gameState());
+    }
+
+    @Test
+    @DisplayName("Finds The First Illegal Move")
+    public void illegalMove() {
+        ChessGame game = new ChessGame();
+        game.makeMove(Move.encode(12, 28, null));
+        game.makeMove(Move.encode(52, 36, null));
+        byte[] bytes = game.getMoveLog().encode();
+        // the second move, e7e5, becomes e7e4, which no pawn can play
+        bytes[bytes.length - 2] = (byte) (Move.encode(52, 28, null) >>> 8);
+        bytes[bytes.length - 1] = (byte) Move.encode(52, 28, null);
+        Assertions.assertEquals(1, MoveLog.decode(bytes).replay(new ChessGame()));
+    }
+}
@@ -0,0 +1,135 @@
+package chessTests;
+
+import chess.ChessGame;
+import chess.book.BookBuilder;
+import chess.book.BookEntry;
+import chess.book.OpeningBook;
+import chess.book.PolyglotKey;
+import chess.moves.Move;
+import chess.moves.MoveGenerator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+public class OpeningBookTests {
+    private static final String CORPUS = """
+            [Result "1-0"]
+            1. e4 e5 2. Nf3 Nc6 3. Bb5 a6 4. O-O 1-0
+
+            [Result "1-0"]
+            1. e4 c5 2. Nf3 d6 1-0
+
+            [Result "1/2-1/2"]
+            1. d4 d5 2. c4 1/2-1/2
+
+            [Result "0-1"]
+            1. b4 e5 0-1
+
+            [Result "1-0"]
+            1. e4 e4 1-0
+            """;
+
+    private static Path build(Path dir, int maxPly) throws IOException {
+        BookBuilder builder = new BookBuilder(maxPly);
+        Assertions.assertEquals(4, builder.addPgn(new StringReader(CORPUS)));
+        Assertions.assertEquals(1, builder.getSkipped());
+        Path path = dir.resolve("book.bin");
+        builder.write(path);
+        return path;
+    }
+
+    @Test
+    @DisplayName("Looks Up Weighted Moves")
+    public void lookup(@TempDir Path dir) throws IOException {
+        try (OpeningBook book = OpeningBook.open(build(dir, 10))) {
+            Assertions.assertEquals(0, Files.size(dir.resolve("book.bin")) % 16);
+            ChessGame game = new ChessGame();
+            List<BookEntry> entries = book.lookup(game);
+            // e4 won twice, d4 drew, b4 lost and is left out
+            Assertions.assertEquals(2, entries.size());
+            Assertions.assertEquals("e2e4", Move.name(entries.get(0).getMove()));
+            Assertions.assertEquals(4, entries.get(0).getWeight());
+            Assertions.assertEquals("d2d4", Move.name(entries.get(1).getMove()));
+            Assertions.assertEquals(1, entries.get(1).getWeight());
+
+            int move = book.pick(game, new Random(3));
+            Assertions.assertTrue(move == entries.get(0).getMove() || move == entries.get(1).getMove());
+            Assertions.assertTrue(book.lookup(afterMoves("a2a3")).isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Stores Castling As King Takes Rook")
+    public void castling(@TempDir Path dir) throws IOException {
+        try (OpeningBook book = OpeningBook.open(build(dir, 10))) {
+            ChessGame game = afterMoves("e2e4", "e7e5", "g1f3", "b8c6", "f1b5", "a7a6");
+            List<BookEntry> entries = book.lookup(game);
+            Assertions.assertEquals(1, entries.size());
+            Assertions.assertEquals("e1g1", Move.name(entries.get(0).getMove()));
+        }
+    }
+
+    @Test
+    @DisplayName("Stops At The Ply Limit")
+    public void plyLimit(@TempDir Path dir) throws IOException {
+        try (OpeningBook book = OpeningBook.open(build(dir, 2))) {
+            Assertions.assertEquals(1, book.lookup(afterMoves("d2d4")).size());
+            Assertions.assertTrue(book.lookup(afterMoves("d2d4", "d7d5")).isEmpty());
+            // black lost both games after e4, so neither reply is kept
+            Assertions.assertTrue(book.lookup(afterMoves("e2e4")).isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Keys Positions Like Polyglot")
+    public void polyglotKeys(@TempDir Path dir) throws IOException {
+        // the reference keys published with the Polyglot book format
+        Assertions.assertEquals(0x463b96181691fc9cL, PolyglotKey.of(new ChessGame()));
+        Assertions.assertEquals(0x823c9b50fd114196L, PolyglotKey.of(afterMoves("e2e4")));
+        Assertions.assertEquals(0x0756b94461c50fb0L, PolyglotKey.of(afterMoves("e2e4", "d7d5")));
+        Assertions.assertEquals(0x662fafb965db29d4L, PolyglotKey.of(afterMoves("e2e4", "d7d5", "e4e5")));
+        Assertions.assertEquals(0x22a48b5a8e47ff78L, PolyglotKey.of(afterMoves("e2e4", "d7d5", "e4e5", "f7f5")));
+        Assertions.assertEquals(0x652a607ca3f242c1L, PolyglotKey.of(afterMoves("e2e4", "d7d5", "e4e5", "f7f5", "e1e2")));
+        Assertions.assertEquals(0x00fdd303c946bdd9L,
+                PolyglotKey.of(afterMoves("e2e4", "d7d5", "e4e5", "f7f5", "e1e2", "e8f7")));
+        Assertions.assertEquals(0x3c8123ea7b067637L, PolyglotKey.of(afterMoves("a2a4", "b7b5", "h2h4", "b5b4", "c2c4")));
+        Assertions.assertEquals(0x5c3f9b829b279560L,
+                PolyglotKey.of(afterMoves("a2a4", "b7b5", "h2h4", "b5b4", "c2c4", "b4c3", "a1a3")));
+
+        // a record written by another Polyglot tool: the start position, e2e4
+        Path path = dir.resolve("polyglot.bin");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(path))) {
+            out.writeLong(0x463b96181691fc9cL);
+            out.writeShort(28 | (12 << 6));
+            out.writeShort(1);
+            out.writeInt(0);
+        }
+        try (OpeningBook book = OpeningBook.open(path)) {
+            Assertions.assertEquals("e2e4", Move.name(book.pick(new ChessGame(), new Random(1))));
+        }
+    }
+
+    private static ChessGame afterMoves(String... names) {
+        ChessGame game = new ChessGame();
+        for (String name : names) {
+            int[] moves = new int[MoveGenerator.MAX_MOVES];
+            int count = game.generateLegalMoves(game.getTeamTurn(), -1L, moves, 0);
+            for (int i = 0; i < count; i++) {
+                if (Move.name(moves[i]).equals(name)) {
+                    game.makeMove(moves[i]);
+                    break;
+                }
+            }
+        }
+        return game;
+    }
+}
@@ -0,0 +1,69 @@
+package chessTests;
+
+import chess.Fen;
+import chess.moves.Move;
+import chess.search.Evaluator;
+import chess.search.ParallelSearch;
+import chess.search.PieceSquareEvaluator;
+import chess.search.SearchLimits;
+import chess.search.SearchResult;
+import chess.search.TranspositionTable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ParallelSearchTests {
+
+    @Test
+    @DisplayName("Finds The Same Tactics On Several Threads")
+    public void findsTactics() {
+        try (ParallelSearch search = new ParallelSearch(4, 8)) {
+            SearchResult mate = search.search(Fen.parse("6rk/6pp/8/6N1/8/8/8/6K1 w - - 0 1"), SearchLimits.depth(4), 4);
+            Assertions.assertEquals("g5f7", Move.name(mate.getPackedMove()));
+            SearchResult queen = search.search(Fen.parse("4k3/8/8/3q4/8/8/8/3RK3 w - - 0 1"), SearchLimits.depth(4), 4);
+            Assertions.assertEquals("d1d5", Move.name(queen.getPackedMove()));
+        }
+    }
+
+    @Test
+    @DisplayName("Main Thread Decides Depth And Helpers Add Nodes")
+    public void mainThreadDecides() {
+        String fen = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+        try (ParallelSearch search = new ParallelSearch(4, 8)) {
+            SearchResult single = search.search(Fen.parse(fen), SearchLimits.depth(5), 1);
+            Assertions.assertEquals(5, single.getDepth());
+            search.getTable().clear();
+            SearchResult parallel = search.search(Fen.parse(fen), SearchLimits.depth(5), 4);
+            Assertions.assertEquals(5, parallel.getDepth());
+            Assertions.assertNotNull(parallel.getMove());
+
+            long start = System.nanoTime();
+            SearchResult timed = search.search(Fen.parse(fen), SearchLimits.millis(200), 8);
+            Assertions.assertTrue(System.nanoTime() - start < 1_000_000_000L);
+            Assertions.assertNotNull(timed.getMove());
+        }
+    }
+
+    @Test
+    @DisplayName("Stops Helpers When The Main Search Fails")
+    public void mainFailure() throws InterruptedException {
+        int threads = 4;
+        AtomicInteger made = new AtomicInteger();
+        // the helpers' evaluators are made first, the main thread's last
+        Evaluator failing = game -> {
+            throw new IllegalStateException("evaluator failed");
+        };
+        TranspositionTable table = new TranspositionTable(8);
+        try (ParallelSearch search = new ParallelSearch(threads, table,
+                () -> made.incrementAndGet() == threads ? failing : new PieceSquareEvaluator())) {
+            String fen = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+            Assertions.assertThrows(IllegalStateException.class,
+                    () -> search.search(Fen.parse(fen), SearchLimits.depth(20), threads));
+            long stores = table.getStores();
+            Thread.sleep(100);
+            Assertions.assertEquals(stores, table.getStores());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package chessTests;
+
+import chess.ChessGame;
+import chess.Fen;
+import chess.moves.Perft;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.concurrent.ForkJoinPool;
+
+public class PerftTests {
+
+    @ParameterizedTest(name = "{0} depth {2}")
+    @CsvSource({
+            "start, 'rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1', 1, 20",
+            "start, 'rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1', 2, 400",
+            "start, 'rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1', 3, 8902",
+            "start, 'rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1', 4, 197281",
+            "position 3, '8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1', 1, 14",
+            "position 3, '8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1', 2, 191",
+            "position 3, '8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1', 3, 2812",
+            "position 3, '8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1', 4, 43238",
+            "kiwipete, 'r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1', 1, 48",
+            "kiwipete, 'r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1', 2, 2039",
+            "kiwipete, 'r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1', 3, 97862",
+            "position 4, 'r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1', 1, 6",
+            "position 4, 'r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1', 2, 264",
+            "position 4, 'r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1', 3, 9467",
+            "position 5, 'rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8', 1, 44",
+            "position 5, 'rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8', 2, 1486",
+            "position 5, 'rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8', 3, 62379",
+            "promotions, 'n1n5/PPPk4/8/8/8/8/4Kppp/5N1N b - - 0 1', 1, 24",
+            "promotions, 'n1n5/PPPk4/8/8/8/8/4Kppp/5N1N b - - 0 1', 2, 496",
+            "promotions, 'n1n5/PPPk4/8/8/8/8/4Kppp/5N1N b - - 0 1', 3, 9483",
+    })
+    @DisplayName("Published Perft Counts")
+    public void publishedCounts(String name, String fen, int depth, long nodes) {
+        Assertions.assertEquals(nodes, Perft.perft(Fen.parse(fen), depth));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource({
+            "start, 'rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1', 3",
+            "promotions, 'n1n5/PPPk4/8/8/8/8/4Kppp/5N1N b - - 0 1', 3",
+            "kiwipete, 'r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1', 2",
+    })
+    @DisplayName("Parallel Divide Matches Serial Divide")
+    public void parallelDivideMatches(String name, String fen, int depth) {
+        ChessGame game = Fen.parse(fen);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Perft.Result parallel = Perft.divide(game, depth, pool);
+            Perft.Result serial = Perft.divide(game, depth);
+            Assertions.assertEquals(serial.getCounts(), parallel.getCounts());
+            Assertions.assertEquals(Perft.perft(game, depth), parallel.getNodes());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Rejects Depths Below One Ply")
+    public void rejectsDepth() {
+        ChessGame game = new ChessGame();
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            Assertions.assertThrows(IllegalArgumentException.class, () -> Perft.divide(game, 0));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> Perft.divide(game, -1, pool));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> Perft.perft(game, -1));
+            Assertions.assertEquals(1, Perft.perft(game, 0));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
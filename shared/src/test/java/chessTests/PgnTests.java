@@ -0,0 +1,98 @@
+package chessTests;
+
+import chess.ChessGame;
+import chess.Fen;
+import chess.moves.Move;
+import chess.pgn.PgnGame;
+import chess.pgn.PgnReader;
+import chess.pgn.San;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class PgnTests {
+    static final String GAMES = """
+            [Event "Casual"]
+            [White "A"]
+            [Black "B"]
+            [Result "1-0"]
+
+            1. e4 e5 2. Nf3 {develops} Nc6 3. Bb5 a6 (3... Nf6 4. O-O) 4. Ba4 $1 Nf6
+            5. O-O Be7 ; main line
+            6. Re1 b5 7. Bb3 d6 8. c3 O-O 1-0
+
+            [Event "Second"]
+            [FEN "4k3/P7/8/8/8/8/8/4K3 w - - 0 1"]
+            [Result "*"]
+
+            1. a8=Q+ Kd7 2. Qb7+ *
+            """;
+
+    @Test
+    @DisplayName("Reads Tags, Moves And Results")
+    public void readsGames() throws IOException {
+        PgnReader reader = new PgnReader(new StringReader(GAMES));
+        PgnGame first = reader.next();
+        PgnGame second = reader.next();
+        Assertions.assertNull(reader.next());
+
+        Assertions.assertEquals("A", first.getTags().get("White"));
+        Assertions.assertEquals("1-0", first.getResult());
+        Assertions.assertEquals(List.of("e4", "e5", "Nf3", "Nc6", "Bb5", "a6", "Ba4", "Nf6", "O-O", "Be7",
+                "Re1", "b5", "Bb3", "d6", "c3", "O-O"), first.getMoves());
+        Assertions.assertEquals(16, first.play().length);
+
+        Assertions.assertEquals("*", second.getResult());
+        int[] moves = second.play();
+        Assertions.assertEquals("a7a8q", Move.name(moves[0]));
+    }
+
+    @Test
+    @DisplayName("Resolves Disambiguated And Special Moves")
+    public void resolvesSan() {
+        ChessGame game = Fen.parse("r3k2r/8/8/3pP3/8/8/8/R3K2R w KQkq d6 0 1");
+        Assertions.assertEquals("e5d6", Move.name(San.parse(game, "exd6")));
+        Assertions.assertEquals("e1g1", Move.name(San.parse(game, "O-O")));
+        Assertions.assertEquals("e1c1", Move.name(San.parse(game, "O-O-O")));
+        Assertions.assertEquals("a1d1", Move.name(San.parse(game, "Rad1")));
+        Assertions.assertEquals("h1f1", Move.name(San.parse(game, "Rhf1")));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> San.parse(game, "Ke3"));
+
+        ChessGame rooks = Fen.parse("R7/8/7k/8/8/8/8/R3K3 w - - 0 1");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> San.parse(rooks, "Ra4"));
+        Assertions.assertEquals("a1a4", Move.name(San.parse(rooks, "R1a4")));
+    }
+
+    @Test
+    @DisplayName("Streams Games From A File")
+    public void readsFile() throws IOException {
+        Path file = Files.createTempFile("games", ".pgn");
+        try {
+            // enough games to cross the reader's buffer many times
+            Files.writeString(file, ("[White \"Müller\"]\n" + GAMES).repeat(500), StandardCharsets.UTF_8);
+            int games = 0;
+            try (PgnReader reader = PgnReader.open(file)) {
+                PgnGame game;
+                while ((game = reader.next()) != null) {
+                    if (games % 2 == 0) {
+                        Assertions.assertEquals("A", game.getTags().get("White"));
+                        ChessGame end = game.replay();
+                        Assertions.assertEquals(16, end.getMoveLog().size());
+                        Assertions.assertEquals(Fen.format(game.startingPosition()), Fen.format(end.positionAt(0)));
+                    }
+                    games++;
+                }
+            }
+            Assertions.assertEquals(1000, games);
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package chessTests;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.Fen;
+import chess.moves.Move;
+import chess.search.Search;
+import chess.search.SearchLimits;
+import chess.search.SearchResult;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+public class SearchTests {
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource({
+            "back rank mate, '6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1', 4, a1a8",
+            "smothered mate, '6rk/6pp/8/6N1/8/8/8/6K1 w - - 0 1', 4, g5f7",
+            "win the queen, '4k3/8/8/3q4/8/8/8/3RK3 w - - 0 1', 4, d1d5",
+            "mate in two, 'r1b1kb1r/pppp1ppp/5q2/4n3/3KP3/2N3PN/PPP4P/R1BQ1B1R b kq - 0 1', 5, f8c5",
+    })
+    @DisplayName("Finds The Best Move")
+    public void findsBestMove(String name, String fen, int depth, String best) {
+        SearchResult result = new Search().search(Fen.parse(fen), SearchLimits.depth(depth));
+        Assertions.assertEquals(best, Move.name(result.getPackedMove()), result.toString());
+    }
+
+    @Test
+    @DisplayName("Scores Mate And Stalemate")
+    public void scoresMate() {
+        SearchResult mate = new Search().search(Fen.parse("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1"), SearchLimits.depth(6));
+        Assertions.assertTrue(mate.isMate());
+        Assertions.assertEquals(Search.MATE - 1, mate.getScore());
+
+        SearchResult stalemate = new Search().search(Fen.parse("k7/2Q5/1K6/8/8/8/8/8 b - - 0 1"), SearchLimits.depth(3));
+        Assertions.assertNull(stalemate.getMove());
+        Assertions.assertEquals(0, stalemate.getScore());
+    }
+
+    @Test
+    @DisplayName("Principal Variation Is Playable")
+    public void principalVariationIsPlayable() throws Exception {
+        ChessGame game = Fen.parse("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        String before = Fen.format(game);
+        SearchResult result = new Search().search(game, SearchLimits.depth(4));
+        Assertions.assertEquals(before, Fen.format(game));
+        Assertions.assertFalse(result.getPrincipalVariation().isEmpty());
+        for (ChessMove move : result.getPrincipalVariation()) {
+            game.makeMove(move);
+        }
+    }
+
+    @Test
+    @DisplayName("Respects Node And Time Limits")
+    public void respectsLimits() {
+        ChessGame game = Fen.parse("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        SearchResult byNodes = new Search().search(game, SearchLimits.nodes(20_000));
+        Assertions.assertTrue(byNodes.getNodes() <= 20_000);
+        Assertions.assertNotNull(byNodes.getMove());
+
+        long start = System.nanoTime();
+        SearchResult byTime = new Search().search(game, SearchLimits.millis(200));
+        Assertions.assertTrue(System.nanoTime() - start < 1_000_000_000L);
+        Assertions.assertNotNull(byTime.getMove());
+        Assertions.assertTrue(byTime.getNodesPerSecond() > 0);
+    }
+}
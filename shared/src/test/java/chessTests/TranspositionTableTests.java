@@ -0,0 +1,101 @@
+package chessTests;
+
+import chess.Fen;
+import chess.search.PieceSquareEvaluator;
+import chess.search.Search;
+import chess.search.SearchLimits;
+import chess.search.SearchResult;
+import chess.search.TranspositionTable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class TranspositionTableTests {
+
+    @Test
+    @DisplayName("Stores And Probes Entries")
+    public void storesAndProbes() {
+        TranspositionTable table = new TranspositionTable(1);
+        Assertions.assertEquals(1 << 16, table.getCapacity());
+        table.store(42L, 1234, -517, 7, TranspositionTable.LOWER);
+        long data = table.probe(42L);
+        Assertions.assertEquals(1234, TranspositionTable.move(data));
+        Assertions.assertEquals(-517, TranspositionTable.score(data));
+        Assertions.assertEquals(7, TranspositionTable.depth(data));
+        Assertions.assertEquals(TranspositionTable.LOWER, TranspositionTable.bound(data));
+        Assertions.assertEquals(0L, table.probe(43L));
+        Assertions.assertEquals(0.5, table.getHitRate());
+    }
+
+    @Test
+    @DisplayName("Replaces Entries From Older Searches First")
+    public void replacesOlderEntries() {
+        TranspositionTable table = new TranspositionTable(1);
+        // keys sharing their top 32 bits land in the same bucket of four
+        for (long key = 1; key <= 4; key++) {
+            table.store(key, 1, 0, 10, TranspositionTable.EXACT);
+        }
+        table.newSearch();
+        table.store(2L, 1, 0, 10, TranspositionTable.EXACT);
+        table.store(3L, 1, 0, 10, TranspositionTable.EXACT);
+        table.store(4L, 1, 0, 10, TranspositionTable.EXACT);
+        table.store(5L, 1, 0, 1, TranspositionTable.EXACT);
+        Assertions.assertEquals(0L, table.probe(1L));
+        for (long key = 2; key <= 5; key++) {
+            Assertions.assertNotEquals(0L, table.probe(key));
+        }
+    }
+
+    @Test
+    @DisplayName("Torn Writes Read As Misses")
+    public void tornWritesAreMisses() throws InterruptedException {
+        TranspositionTable table = new TranspositionTable(1);
+        Thread[] threads = new Thread[4];
+        boolean[] failed = new boolean[threads.length];
+        for (int t = 0; t < threads.length; t++) {
+            int id = t;
+            threads[t] = new Thread(() -> {
+                Random random = new Random(id);
+                for (int i = 0; i < 500_000; i++) {
+                    // few keys, so threads keep overwriting the same entries
+                    long key = (long) random.nextInt(64) << 32 | random.nextInt(8);
+                    int depth = (int) (key % 100);
+                    if (random.nextBoolean()) {
+                        table.store(key, (int) key & 0xFFFF, depth, depth, TranspositionTable.EXACT);
+                    } else {
+                        long data = table.probe(key);
+                        if (data != 0 && TranspositionTable.depth(data) != depth) {
+                            failed[id] = true;
+                        }
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (boolean fail : failed) {
+            Assertions.assertFalse(fail);
+        }
+        Assertions.assertTrue(table.getOccupancy() > 0);
+    }
+
+    @Test
+    @DisplayName("Table Reduces Nodes At Fixed Depth")
+    public void reducesNodes() {
+        String fen = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+        SearchResult small = new Search(new PieceSquareEvaluator(), new TranspositionTable(0) {
+            @Override
+            public long probe(long key) {
+                return 0L;
+            }
+        }).search(Fen.parse(fen), SearchLimits.depth(5));
+        Search search = new Search();
+        SearchResult full = search.search(Fen.parse(fen), SearchLimits.depth(5));
+        Assertions.assertTrue(full.getNodes() < small.getNodes(), full.getNodes() + " vs " + small.getNodes());
+        Assertions.assertTrue(search.getTable().getHits() > 0);
+    }
+}
@@ -0,0 +1,50 @@
+package chessTests;
+
+import chess.*;
+import chess.moves.Move;
+import chess.moves.MoveGenerator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class ZobristTests {
+
+    @Test
+    @DisplayName("Incremental Key Matches Recomputed Key")
+    public void incrementalKeyMatches() {
+        Random random = new Random(7);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        ChessGame game = new ChessGame();
+        game.positionKey();
+        for (int ply = 0; ply < 200; ply++) {
+            int count = game.legalMoves(game.getTeamTurn(), moves, 0);
+            if (count == 0) {
+                break;
+            }
+            game.makeMove(moves[random.nextInt(count)]);
+            ChessGame fresh = Fen.parse(Fen.format(game));
+            Assertions.assertEquals(fresh.positionKey(), game.positionKey());
+        }
+    }
+
+    @Test
+    @DisplayName("Transpositions Share A Key")
+    public void transpositionsShareKey() {
+        ChessGame first = new ChessGame();
+        first.makeMove(Move.encode(ChessBoard.square(1, 2), ChessBoard.square(3, 3), null));
+        first.makeMove(Move.encode(ChessBoard.square(8, 2), ChessBoard.square(6, 3), null));
+        first.makeMove(Move.encode(ChessBoard.square(1, 7), ChessBoard.square(3, 6), null));
+
+        ChessGame second = new ChessGame();
+        second.makeMove(Move.encode(ChessBoard.square(1, 7), ChessBoard.square(3, 6), null));
+        second.makeMove(Move.encode(ChessBoard.square(8, 2), ChessBoard.square(6, 3), null));
+        second.makeMove(Move.encode(ChessBoard.square(1, 2), ChessBoard.square(3, 3), null));
+
+        Assertions.assertEquals(first.positionKey(), second.positionKey());
+        Assertions.assertNotEquals(first.positionKey(), new ChessGame().positionKey());
+        first.unmakeMove();
+        Assertions.assertNotEquals(first.positionKey(), second.positionKey());
+    }
+}
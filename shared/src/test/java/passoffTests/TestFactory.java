@@ -16,7 +16,7 @@ public class TestFactory {
     // Chess Functions
     // ------------------------------------------------------------------------------------------------------------------
     public static ChessBoard getNewBoard() {
-        return new ChessBoard();
+        return ChessBoard.newBoard();
     }
 
     public static ChessGame getNewGame() {